@@ -0,0 +1,68 @@
+package com.dealchain.dealchain.config;
+
+import com.dealchain.dealchain.domain.storage.BlobStore;
+import com.dealchain.dealchain.domain.storage.LocalBlobBackend;
+import com.dealchain.dealchain.domain.storage.S3BlobBackend;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+
+@Configuration
+public class BlobStoreConfig {
+
+    @Value("${storage.blob.local.root:uploads}")
+    private String localRoot;
+
+    @Value("${aws.s3.bucket-name}")
+    private String bucket;
+
+    // 마지막 참조 해제 후 실제 삭제까지 기다리는 시간 (그 사이 같은 내용이 올라오면 재사용)
+    @Value("${storage.blob.orphan-grace-seconds:3600}")
+    private long orphanGraceSeconds;
+
+    @Value("${storage.blob.executor.threads:4}")
+    private int executorThreads;
+
+    @Value("${storage.blob.executor.queue-capacity:100}")
+    private int executorQueueCapacity;
+
+    // 상품 이미지 (로컬 uploads/ 아래, 앱 서버가 직접 응답)
+    @Bean(name = "localBlobStore")
+    public BlobStore localBlobStore(ApplicationEventPublisher eventPublisher,
+                                    @Qualifier("blobStoreExecutor") ThreadPoolTaskExecutor executor,
+                                    MeterRegistry meterRegistry) {
+        return new BlobStore("local", new LocalBlobBackend(Paths.get(localRoot)), eventPublisher, executor,
+                Duration.ofSeconds(orphanGraceSeconds), meterRegistry);
+    }
+
+    // S3 업로드 (서명 이미지 등)
+    @Bean(name = "s3BlobStore")
+    public BlobStore s3BlobStore(S3Client s3Client,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Qualifier("blobStoreExecutor") ThreadPoolTaskExecutor executor,
+                                 MeterRegistry meterRegistry) {
+        return new BlobStore("s3", new S3BlobBackend(s3Client, bucket), eventPublisher, executor,
+                Duration.ofSeconds(orphanGraceSeconds), meterRegistry);
+    }
+
+    // 중복 확인/참조 기록을 요청 스레드와 분리 (비동기 업로드용)
+    @Bean(name = "blobStoreExecutor")
+    public ThreadPoolTaskExecutor blobStoreExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(executorThreads);
+        executor.setMaxPoolSize(executorThreads);
+        executor.setQueueCapacity(executorQueueCapacity);
+        executor.setThreadNamePrefix("blob-store-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -0,0 +1,52 @@
+package com.dealchain.dealchain.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class ContractFinalizationConfig {
+
+    @Value("${contract.finalization.worker-count:4}")
+    private int workerCount;
+
+    @Value("${contract.finalization.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${pdf.render.threads:2}")
+    private int renderThreads;
+
+    @Value("${pdf.render.queue-capacity:8}")
+    private int renderQueueCapacity;
+
+    // 계약서 PDF 생성/업로드 전용 스레드 풀 (요청 스레드와 분리, 크기 제한)
+    @Bean(name = "contractFinalizationExecutor")
+    public ThreadPoolTaskExecutor contractFinalizationExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerCount);
+        executor.setMaxPoolSize(workerCount);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("contract-finalize-");
+        // 종료 시 진행 중인 작업은 마무리 (미처리 작업은 DB에 남아 재기동 후 처리됨)
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+
+    // PDF 렌더링 전용 스레드 풀 (CPU/메모리 사용이 커서 최종화 작업과 별도로 동시 실행 수 제한)
+    @Bean(name = "pdfRenderExecutor")
+    public ThreadPoolTaskExecutor pdfRenderExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(renderThreads);
+        executor.setMaxPoolSize(renderThreads);
+        // 큐가 가득 차면 TaskRejectedException (호출 측에서 재시도 시점을 정해 미룸)
+        executor.setQueueCapacity(renderQueueCapacity);
+        executor.setThreadNamePrefix("pdf-render-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        return executor;
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner; // 👈 [추가]
 
@@ -31,6 +32,16 @@ public class S3Config {
                 .build();
     }
 
+    // 비동기 업로드(멀티파트 병렬 업로드 포함)에 사용됩니다.
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+        AwsBasicCredentials credentials = AwsBasicCredentials.create(accessKey, secretKey);
+        return S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(credentials))
+                .build();
+    }
+
     // 👇 [추가] 이 Bean이 'Pre-signed URL'을 생성(발급)할 때 사용됩니다.
     @Bean
     public S3Presigner s3Presigner() {
@@ -1,6 +1,7 @@
 package com.dealchain.dealchain.config.SQS;
 
 import io.awspring.cloud.sqs.config.SqsMessageListenerContainerFactory;
+import io.awspring.cloud.sqs.listener.acknowledgement.handler.AcknowledgementMode;
 import lombok.Getter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -45,8 +46,10 @@ public class AwsSqsConfig {
                 .builder()
 
                 .sqsAsyncClient(sqsAsyncClient())
+                // 사기 탐지 점수 계산이 끝난 뒤 컨슈머에서 직접 ack (버퍼에 있는 동안 재기동되어도 유실되지 않도록)
                 .configure(options -> options
                         .maxMessagesPerPoll(count)
+                        .acknowledgementMode(AcknowledgementMode.MANUAL)
                 )
                 .build();
     }
@@ -56,6 +56,7 @@ public class SecurityConfig {
                         .requestMatchers("/api/members/register").permitAll()
                         .requestMatchers("/api/members/login").permitAll()
                         .requestMatchers("/api/products/list").permitAll()
+                        .requestMatchers("/api/products/search").permitAll()
                         .requestMatchers("/api/products/{id}/image").permitAll()  // 상품 이미지는 공개 접근 허용
                         .requestMatchers("/ws/**", "/ws").permitAll()
                         .requestMatchers("/static/**", "/uploads/**").permitAll()
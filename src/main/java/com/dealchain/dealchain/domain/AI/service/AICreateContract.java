@@ -14,11 +14,16 @@ import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
 
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
 
 @Service
 public class AICreateContract {
+    private static final String MODEL_ID = "apac.anthropic.claude-3-sonnet-20240229-v1:0";
+
     private final BedrockRuntimeClient bedrockClient;
     private final ContractDtoJsonConverter contractDtoJsonConverter;
+    private final AIResponseCache aiResponseCache;
+    private final BedrockStreamInvoker bedrockStreamInvoker;
 
     @Value("classpath:prompt/claude-contract-system-prompt.txt")
     private Resource systemPromptResource;
@@ -30,10 +35,14 @@ public class AICreateContract {
     private String systemReasonPrompt;
 
     public AICreateContract(BedrockRuntimeClient bedrockClient,
-                            ContractDtoJsonConverter contractDtoJsonConverter
+                            ContractDtoJsonConverter contractDtoJsonConverter,
+                            AIResponseCache aiResponseCache,
+                            BedrockStreamInvoker bedrockStreamInvoker
     ) {
         this.bedrockClient = bedrockClient;
         this.contractDtoJsonConverter = contractDtoJsonConverter;
+        this.aiResponseCache = aiResponseCache;
+        this.bedrockStreamInvoker = bedrockStreamInvoker;
     }
 
     @PostConstruct
@@ -51,6 +60,13 @@ public class AICreateContract {
 
 
     public String invokeClaude(String userChatLog, ContractDefaultReqeustDto reqeustDto, String contract) {
+        return invokeClaude(userChatLog, reqeustDto, contract, null);
+    }
+
+    /**
+     * onDelta가 있으면 응답 스트림으로 호출하여 토큰 조각을 전달합니다. (반환값은 동일하게 전체 응답)
+     */
+    public String invokeClaude(String userChatLog, ContractDefaultReqeustDto reqeustDto, String contract, Consumer<String> onDelta) {
         String defaultInfo = contractDtoJsonConverter.toJson(reqeustDto);
         String system;
         String content;
@@ -64,15 +80,29 @@ public class AICreateContract {
             content = (userChatLog == null ? "" : userChatLog) + defaultInfo;
         }
 
-        return callClaudeWithSystem(system, content);
+        // 채팅/기본 정보가 그대로면 이전 응답 재사용
+        String cacheKey = aiResponseCache.key(MODEL_ID, system, content);
+        return aiResponseCache.getOrCompute(cacheKey,
+                () -> onDelta == null
+                        ? callClaudeWithSystem(system, content)
+                        : bedrockStreamInvoker.invoke(MODEL_ID, system, content, onDelta),
+                AICreateContract::isJsonResponse);
+    }
+
+    // JSON 블록이 파싱되는 응답만 캐시 (잘못된 응답은 다음 요청에서 재생성)
+    private static boolean isJsonResponse(String response) {
+        try {
+            new JSONObject(JsonExtractor.extractJsonBlock(response));
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
     }
 
     /**
      * 실제 Bedrock/Claude 호출을 담당하는 공통 메서드.
      */
     private String callClaudeWithSystem(String system, String content) {
-        String modelId = "apac.anthropic.claude-3-sonnet-20240229-v1:0";
-
         JSONObject requestBody = new JSONObject();
         requestBody.put("anthropic_version", "bedrock-2023-05-31");
         requestBody.put("max_tokens", 2048);
@@ -87,7 +117,7 @@ public class AICreateContract {
         requestBody.put("messages", messages);
 
         InvokeModelRequest request = InvokeModelRequest.builder()
-                .modelId(modelId)
+                .modelId(MODEL_ID)
                 .contentType("application/json")
                 .accept("application/json")
                 .body(SdkBytes.fromUtf8String(requestBody.toString()))
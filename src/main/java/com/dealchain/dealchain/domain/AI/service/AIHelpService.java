@@ -15,6 +15,7 @@ import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelResponse;
 
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
 
 @Service
 public class AIHelpService {
@@ -23,15 +24,20 @@ public class AIHelpService {
     private static final int MAX_JSON_SIZE = 5_242_880;
     private static final Logger log = LoggerFactory.getLogger(AIHelpService.class);
 
+    private static final String MODEL_ID = "apac.anthropic.claude-3-sonnet-20240229-v1:0";
+
     private final BedrockRuntimeClient bedrockClient;
+    private final BedrockStreamInvoker bedrockStreamInvoker;
 
     @Value("classpath:prompt/claude-contract-help-system-prompt.txt")
     private Resource systemPromptResource;
 
     private String systemPrompt;
 
-    public AIHelpService(BedrockRuntimeClient bedrockClient) {
+    public AIHelpService(BedrockRuntimeClient bedrockClient,
+                         BedrockStreamInvoker bedrockStreamInvoker) {
         this.bedrockClient = bedrockClient;
+        this.bedrockStreamInvoker = bedrockStreamInvoker;
 
     }
 
@@ -50,6 +56,13 @@ public class AIHelpService {
     }
 
     public String invokeClaude(String contractJsonInput) {
+        return invokeClaude(contractJsonInput, null);
+    }
+
+    /**
+     * onDelta가 있으면 응답 스트림으로 호출하여 요약 조각을 전달합니다.
+     */
+    public String invokeClaude(String contractJsonInput, Consumer<String> onDelta) {
 
         if (contractJsonInput == null || contractJsonInput.length() > MAX_JSON_SIZE) {
             log.error("DoS 공격 의심: AI JSON 크기가 {}바이트를 초과했습니다. (Size: {})",
@@ -57,7 +70,9 @@ public class AIHelpService {
             throw new IllegalArgumentException("AI가 생성한 계약서 데이터가 너무 큽니다.");
         }
 
-        String modelId = "apac.anthropic.claude-3-sonnet-20240229-v1:0";
+        if (onDelta != null) {
+            return bedrockStreamInvoker.invoke(MODEL_ID, this.systemPrompt, contractJsonInput, onDelta);
+        }
 
         JSONObject requestBody = new JSONObject();
         requestBody.put("anthropic_version", "bedrock-2023-05-31");
@@ -75,7 +90,7 @@ public class AIHelpService {
         requestBody.put("messages", messages);
 
         InvokeModelRequest request = InvokeModelRequest.builder()
-                .modelId(modelId)
+                .modelId(MODEL_ID)
                 .contentType("application/json")
                 .accept("application/json")
                 .body(SdkBytes.fromUtf8String(requestBody.toString()))
@@ -0,0 +1,226 @@
+package com.dealchain.dealchain.domain.AI.service;
+
+import com.dealchain.dealchain.util.EnvelopeEncryption;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Bedrock 응답 캐시. (입력 내용의 SHA-256 다이제스트를 키로 사용)
+ * 채팅 내용/기본 정보가 바뀌지 않았다면 같은 요청에 모델을 다시 호출하지 않습니다.
+ * 메모리(hot) 계층과 로컬 디스크(persistent) 계층으로 구성되며, 디스크 계층은 재기동 후에도 유지됩니다.
+ * 응답에 거래 당사자 정보가 포함되므로 디스크에는 암호화하여 저장합니다.
+ */
+@Component
+public class AIResponseCache {
+    private static final Logger log = LoggerFactory.getLogger(AIResponseCache.class);
+
+    private final EnvelopeEncryption envelopeEncryption;
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+
+    @Value("${ai.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.cache.dir:cache/ai-responses}")
+    private String cacheDir;
+
+    @Value("${ai.cache.ttl-hours:24}")
+    private long ttlHours;
+
+    @Value("${ai.cache.memory-max-entries:500}")
+    private long memoryMaxEntries;
+
+    private Path directory;
+    private Cache<String, Entry> memory;
+
+    public AIResponseCache(EnvelopeEncryption envelopeEncryption, MeterRegistry meterRegistry) {
+        this.envelopeEncryption = envelopeEncryption;
+        this.memoryHits = Counter.builder("ai.response.cache").tag("result", "hit").tag("tier", "memory").register(meterRegistry);
+        this.diskHits = Counter.builder("ai.response.cache").tag("result", "hit").tag("tier", "disk").register(meterRegistry);
+        this.misses = Counter.builder("ai.response.cache").tag("result", "miss").tag("tier", "none").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        this.directory = Paths.get(cacheDir);
+        Files.createDirectories(directory);
+        // 항목별 만료 시각을 그대로 메모리 계층 만료에도 적용
+        this.memory = Caffeine.newBuilder()
+                .maximumSize(memoryMaxEntries)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        return entry.remainingNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.remainingNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * 입력 조각들로 캐시 키(SHA-256 hex) 생성
+     */
+    public String key(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                byte[] bytes = (part == null ? "" : part).getBytes(StandardCharsets.UTF_8);
+                // 조각 경계가 섞이지 않도록 길이를 함께 반영
+                digest.update(Integer.toString(bytes.length).getBytes(StandardCharsets.US_ASCII));
+                digest.update((byte) ':');
+                digest.update(bytes);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 캐시에 있으면 반환하고, 없으면 호출 결과를 저장 후 반환합니다.
+     * cacheable을 통과한 응답만 저장합니다. (형식이 잘못된 응답은 재시도 가능하도록)
+     */
+    public String getOrCompute(String key, Supplier<String> loader, Predicate<String> cacheable) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        Entry cached = memory.getIfPresent(key);
+        if (cached != null && !cached.isExpired()) {
+            memoryHits.increment();
+            return cached.value();
+        }
+
+        Entry stored = readFromDisk(key);
+        if (stored != null) {
+            diskHits.increment();
+            memory.put(key, stored);
+            return stored.value();
+        }
+
+        misses.increment();
+        String value = loader.get();
+        if (value != null && cacheable.test(value)) {
+            Entry entry = new Entry(value, System.currentTimeMillis() + Duration.ofHours(ttlHours).toMillis());
+            memory.put(key, entry);
+            writeToDisk(key, entry);
+        }
+        return value;
+    }
+
+    /**
+     * 만료된 디스크 항목 정리
+     */
+    @Scheduled(fixedDelayString = "${ai.cache.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        int removed = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    continue;
+                }
+                Entry entry = read(file);
+                if (entry == null || entry.isExpired()) {
+                    Files.deleteIfExists(file);
+                    removed++;
+                }
+            }
+        } catch (IOException e) {
+            log.warn("AI 응답 캐시 정리 중 오류: {}", e.getMessage());
+        }
+        if (removed > 0) {
+            log.info("만료된 AI 응답 캐시 {}건 삭제", removed);
+        }
+    }
+
+    private Entry readFromDisk(String key) {
+        Path file = directory.resolve(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Entry entry = read(file);
+        if (entry == null || entry.isExpired()) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // 정리 실패는 다음 purge에서 재시도
+            }
+            return null;
+        }
+        return entry;
+    }
+
+    // 파일 형식: 봉투 암호화된 [첫 줄 만료 시각(epoch millis), 이후 응답 본문]
+    private Entry read(Path file) {
+        try {
+            String content = new String(envelopeEncryption.decrypt(Files.readAllBytes(file)), StandardCharsets.UTF_8);
+            int newline = content.indexOf('\n');
+            if (newline < 0) {
+                return null;
+            }
+            long expiresAt = Long.parseLong(content.substring(0, newline));
+            return new Entry(content.substring(newline + 1), expiresAt);
+        } catch (IOException | NumberFormatException e) {
+            log.warn("AI 응답 캐시 파일을 읽을 수 없습니다. file={}, error={}", file.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Entry entry) {
+        Path target = directory.resolve(key);
+        try {
+            // 같은 키를 동시에 쓰는 경우를 대비해 임시 파일 이름은 매번 다르게
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            byte[] content = (entry.expiresAtMillis() + "\n" + entry.value()).getBytes(StandardCharsets.UTF_8);
+            Files.write(temp, envelopeEncryption.encrypt(content));
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // 디스크 저장 실패 시 메모리 계층만 사용
+            log.warn("AI 응답 캐시 디스크 저장 실패. key={}, error={}", key, e.getMessage());
+        }
+    }
+
+    private record Entry(String value, long expiresAtMillis) {
+
+        boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAtMillis;
+        }
+
+        long remainingNanos() {
+            return Math.max(0, Duration.ofMillis(expiresAtMillis - System.currentTimeMillis()).toNanos());
+        }
+    }
+}
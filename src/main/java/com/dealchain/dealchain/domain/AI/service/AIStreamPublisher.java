@@ -0,0 +1,102 @@
+package com.dealchain.dealchain.domain.AI.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * AI 응답 조각을 요청한 사용자에게 STOMP(/user/queue/ai-stream)로 전달합니다.
+ * 토큰마다 보내지 않고 일정 길이/시간 단위로 모아서 전송합니다.
+ */
+@Component
+public class AIStreamPublisher {
+    private static final Logger log = LoggerFactory.getLogger(AIStreamPublisher.class);
+    private static final String DESTINATION = "/queue/ai-stream";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    @Value("${ai.streaming.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.streaming.flush-chars:64}")
+    private int flushChars;
+
+    @Value("${ai.streaming.flush-interval-ms:100}")
+    private long flushIntervalMs;
+
+    public AIStreamPublisher(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 사용자/채팅방/요청 종류(CREATE, SUMMARY, REASON) 단위 스트림 세션 생성
+     */
+    public Session open(Long userId, String roomId, String type) {
+        return new Session(String.valueOf(userId), roomId, type);
+    }
+
+    public final class Session implements Consumer<String> {
+        private final String user;
+        private final String roomId;
+        private final String type;
+        private final StringBuilder pending = new StringBuilder();
+        private long lastFlushAt = System.currentTimeMillis();
+        private int seq;
+
+        private Session(String user, String roomId, String type) {
+            this.user = user;
+            this.roomId = roomId;
+            this.type = type;
+        }
+
+        // 스트림 콜백 스레드에서 호출됨
+        @Override
+        public synchronized void accept(String delta) {
+            pending.append(delta);
+            if (pending.length() >= flushChars || System.currentTimeMillis() - lastFlushAt >= flushIntervalMs) {
+                flush(false, null);
+            }
+        }
+
+        public synchronized void complete() {
+            flush(true, null);
+        }
+
+        public synchronized void fail(String message) {
+            flush(true, message);
+        }
+
+        private void flush(boolean done, String error) {
+            if (pending.length() == 0 && !done) {
+                return;
+            }
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("type", type);
+            payload.put("roomId", roomId);
+            payload.put("seq", seq++);
+            payload.put("delta", pending.toString());
+            payload.put("done", done);
+            if (error != null) {
+                payload.put("error", error);
+            }
+            pending.setLength(0);
+            lastFlushAt = System.currentTimeMillis();
+            try {
+                messagingTemplate.convertAndSendToUser(user, DESTINATION, payload);
+            } catch (Exception e) {
+                // 스트림 전달 실패는 최종 HTTP 응답에 영향 없음
+                log.warn("AI 스트림 전송 실패 (userId: {}, roomId: {}): {}", user, roomId, e.getMessage());
+            }
+        }
+    }
+}
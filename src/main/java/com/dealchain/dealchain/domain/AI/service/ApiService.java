@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Service
@@ -16,15 +17,7 @@ public class ApiService {
 
     public detectDto sendPostRequest(String test) {
         try {
-            detectDto responsed = flaskApiWebClient.post()
-                    .uri("/detect_fraud")
-                    .bodyValue(test)
-                    .retrieve()
-                    .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
-                            response -> response.bodyToMono(String.class)
-                                    .map(body -> new RuntimeException("Flask API 오류 (" + response.statusCode() + "): " + body)))
-                    .bodyToMono(detectDto.class)
-                    .block();
+            detectDto responsed = sendPostRequestAsync(test).block();
             log.info("Flask API 응답 수신 성공.");
             return responsed;
         } catch (WebClientResponseException e) {
@@ -36,4 +29,18 @@ public class ApiService {
             return new detectDto(null, null, null, "일반 오류: " + e.getMessage());
         }
     }
+
+    /**
+     * 블로킹 없이 사기 탐지 API 호출. 오류는 Mono error로 전달됩니다. (호출 측에서 방 단위로 처리)
+     */
+    public Mono<detectDto> sendPostRequestAsync(String body) {
+        return flaskApiWebClient.post()
+                .uri("/detect_fraud")
+                .bodyValue(body)
+                .retrieve()
+                .onStatus(status -> status.is4xxClientError() || status.is5xxServerError(),
+                        response -> response.bodyToMono(String.class)
+                                .map(errorBody -> new RuntimeException("Flask API 오류 (" + response.statusCode() + "): " + errorBody)))
+                .bodyToMono(detectDto.class);
+    }
 }
@@ -0,0 +1,95 @@
+package com.dealchain.dealchain.domain.AI.service;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.services.bedrockruntime.BedrockRuntimeAsyncClient;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelWithResponseStreamRequest;
+import software.amazon.awssdk.services.bedrockruntime.model.InvokeModelWithResponseStreamResponseHandler;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Bedrock 응답 스트림(invokeModelWithResponseStream)으로 Claude를 호출합니다.
+ * 토큰이 도착할 때마다 onDelta로 전달하고, 완료되면 전체 응답 텍스트를 반환합니다.
+ */
+@Component
+public class BedrockStreamInvoker {
+    private static final Logger log = LoggerFactory.getLogger(BedrockStreamInvoker.class);
+
+    private final BedrockRuntimeAsyncClient bedrockAsyncClient;
+
+    @Value("${ai.streaming.timeout-seconds:120}")
+    private long timeoutSeconds;
+
+    public BedrockStreamInvoker(BedrockRuntimeAsyncClient bedrockAsyncClient) {
+        this.bedrockAsyncClient = bedrockAsyncClient;
+    }
+
+    public String invoke(String modelId, String system, String content, Consumer<String> onDelta) {
+        JSONObject requestBody = new JSONObject();
+        requestBody.put("anthropic_version", "bedrock-2023-05-31");
+        requestBody.put("max_tokens", 2048);
+        requestBody.put("system", system);
+
+        JSONArray messages = new JSONArray();
+        JSONObject userMessage = new JSONObject();
+        userMessage.put("role", "user");
+        userMessage.put("content", content);
+        messages.put(userMessage);
+
+        requestBody.put("messages", messages);
+
+        InvokeModelWithResponseStreamRequest request = InvokeModelWithResponseStreamRequest.builder()
+                .modelId(modelId)
+                .contentType("application/json")
+                .accept("application/json")
+                .body(SdkBytes.fromUtf8String(requestBody.toString()))
+                .build();
+
+        StringBuffer text = new StringBuffer();
+        InvokeModelWithResponseStreamResponseHandler handler = InvokeModelWithResponseStreamResponseHandler.builder()
+                .subscriber(InvokeModelWithResponseStreamResponseHandler.Visitor.builder()
+                        .onChunk(chunk -> {
+                            String delta = extractDelta(chunk.bytes().asUtf8String());
+                            if (delta != null && !delta.isEmpty()) {
+                                text.append(delta);
+                                onDelta.accept(delta);
+                            }
+                        })
+                        .build())
+                .build();
+
+        try {
+            bedrockAsyncClient.invokeModelWithResponseStream(request, handler)
+                    .get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("AI 응답 스트리밍이 중단되었습니다.", e);
+        } catch (TimeoutException e) {
+            throw new RuntimeException("AI 응답 스트리밍 시간이 초과되었습니다.", e);
+        } catch (ExecutionException | CompletionException e) {
+            log.error("AI 응답 스트리밍 실패: {}", e.getMessage());
+            throw new RuntimeException("AI 응답 스트리밍 중 오류가 발생했습니다.", e.getCause());
+        }
+        return text.toString();
+    }
+
+    // Claude 스트림 이벤트 중 텍스트 조각(content_block_delta)만 추출
+    private static String extractDelta(String eventJson) {
+        JSONObject event = new JSONObject(eventJson);
+        if (!"content_block_delta".equals(event.optString("type"))) {
+            return null;
+        }
+        JSONObject delta = event.optJSONObject("delta");
+        return delta == null ? null : delta.optString("text", null);
+    }
+}
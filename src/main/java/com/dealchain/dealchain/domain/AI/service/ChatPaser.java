@@ -5,48 +5,223 @@ import com.dealchain.dealchain.domain.chat.entity.ChatMessage;
 import com.dealchain.dealchain.domain.chat.repository.ChatMessageRepository;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 @Service
-@RequiredArgsConstructor
 public class ChatPaser {
 
     private final ChatMessageRepository chatMessageRepository;
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
 
+    // 방별 직렬화된 대화 기록 (메시지 저장 시 이어 붙임, 전체 문자 수 기준으로 크기 제한)
+    private final Cache<String, RoomTranscript> transcripts;
+
+    public ChatPaser(ChatMessageRepository chatMessageRepository,
+                     @Value("${chat.transcript.cache.max-chars:50000000}") long maxChars,
+                     @Value("${chat.transcript.cache.expire-after-access-minutes:30}") long expireMinutes) {
+        this.chatMessageRepository = chatMessageRepository;
+        this.transcripts = Caffeine.newBuilder()
+                .maximumWeight(maxChars)
+                .weigher((String roomId, RoomTranscript t) -> t.weight())
+                .expireAfterAccess(Duration.ofMinutes(expireMinutes))
+                .build();
+    }
+
     /**
      * roomId에 있는 채팅들을 시간순으로 조회해
      * [{"senderId":"내용"}, {"senderId":"내용"}, ...] 형태의 JSON 문자열로 반환.
+     * 처음 한 번만 전체를 DB에서 읽고, 이후에는 저장된 기록에 워터마크 이후 메시지만 더해 사용합니다.
      */
     @Transactional(readOnly = true)
     public String buildSenderToContentsJsonByRoomId(String roomId) { //거래 계약서 생성, 거래 대화 맥락 분석에 사용
+        return transcript(roomId).snapshot().json();
+    }
+
+    /**
+     * 전체 대화 기록과 워터마크(마지막 messageId)를 함께 반환
+     */
+    @Transactional(readOnly = true)
+    public Transcript buildTranscript(String roomId) {
+        return transcript(roomId).snapshot();
+    }
+
+    /**
+     * afterMessageId 이후의 메시지만 같은 JSON 형식으로 반환 (이전 호출의 워터마크를 넘겨서 사용)
+     */
+    @Transactional(readOnly = true)
+    public Transcript buildDeltaSince(String roomId, long afterMessageId) {
+        return transcript(roomId).since(afterMessageId);
+    }
+
+    /**
+     * 최근 limit개 메시지만 같은 JSON 형식으로 반환 (사기 탐지 윈도우용)
+     */
+    @Transactional(readOnly = true)
+    public RecentWindow buildRecentWindow(String roomId, int limit) {
+        return transcript(roomId).recent(limit);
+    }
+
+    /**
+     * 메시지 저장 직후 호출하여 방의 기록에 이어 붙입니다.
+     * 트랜잭션 안에서 호출되면 커밋된 뒤에 반영합니다. (롤백된 메시지가 기록에 남지 않도록)
+     * 아직 기록을 불러오지 않은 방은 무시 (다음 조회 시 DB에서 함께 읽힘)
+     */
+    public void append(String roomId, ChatMessage message) {
+        if (roomId == null || message == null || message.getMessageId() == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    appendCommitted(roomId, message);
+                }
+            });
+        } else {
+            appendCommitted(roomId, message);
+        }
+    }
+
+    private void appendCommitted(String roomId, ChatMessage message) {
+        RoomTranscript transcript = transcripts.getIfPresent(roomId);
+        if (transcript != null) {
+            transcript.add(message.getMessageId(), serialize(message));
+            // 가중치 재계산을 위해 다시 넣음
+            transcripts.put(roomId, transcript);
+        }
+    }
+
+    private RoomTranscript transcript(String roomId) {
         if (roomId == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "roomId가 필요합니다.");
         }
+        RoomTranscript transcript = transcripts.get(roomId, this::load);
+        // 처음 불러오는 동안 저장된 메시지, 다른 노드에서 저장된 메시지를 워터마크 이후만 조회해 반영
+        List<ChatMessage> delta = chatMessageRepository
+                .findByChatRoom_RoomIdAndMessageIdGreaterThanOrderByMessageIdAsc(roomId, transcript.watermark());
+        if (!delta.isEmpty()) {
+            for (ChatMessage msg : delta) {
+                transcript.add(msg.getMessageId(), serialize(msg));
+            }
+            transcripts.put(roomId, transcript);
+        }
+        return transcript;
+    }
 
+    private RoomTranscript load(String roomId) {
         List<ChatMessage> messages = chatMessageRepository.findByChatRoom_RoomIdOrderByTimestampAsc(roomId);
-
-        List<Map<String, String>> ordered = new ArrayList<>();
+        RoomTranscript transcript = new RoomTranscript();
         for (ChatMessage msg : messages) {
-            String sender = msg.getSenderId() == null ? "null" : String.valueOf(msg.getSenderId());
-            Map<String, String> single = new LinkedHashMap<>();
-            single.put(sender, msg.getContent());
-            ordered.add(single);
+            transcript.add(msg.getMessageId(), serialize(msg));
         }
+        return transcript;
+    }
 
+    private static String serialize(ChatMessage msg) {
+        String sender = msg.getSenderId() == null ? "null" : String.valueOf(msg.getSenderId());
+        Map<String, String> single = new LinkedHashMap<>();
+        single.put(sender, msg.getContent());
         try {
-            return OBJECT_MAPPER.writeValueAsString(ordered);
+            return OBJECT_MAPPER.writeValueAsString(single);
         } catch (JsonProcessingException e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "JSON 변환 실패", e);
         }
     }
+
+    /**
+     * 대화 기록(JSON 배열 문자열), 포함된 마지막 messageId, 메시지 수
+     */
+    public record Transcript(String json, long watermark, int messageCount) {
+    }
+
+    /**
+     * 최근 메시지 윈도우. skippedCount는 윈도우 밖의 이전 메시지 수, fullBytes는 전체 기록 JSON의 UTF-8 바이트 수
+     */
+    public record RecentWindow(String json, long watermark, int messageCount, int skippedCount, long fullBytes) {
+    }
+
+    /**
+     * 한 방의 직렬화된 메시지 목록. 메시지 순서(messageId)를 유지합니다.
+     */
+    private static final class RoomTranscript {
+        private final List<Long> ids = new ArrayList<>();
+        private final List<String> entries = new ArrayList<>();
+        private final StringBuilder body = new StringBuilder();
+        // body의 UTF-8 바이트 수 (전송량 비교용, 매번 인코딩하지 않도록 누적)
+        private long bodyBytes;
+
+        synchronized void add(Long messageId, String entry) {
+            long id = messageId == null ? 0L : messageId;
+            int size = ids.size();
+            if (size == 0 || ids.get(size - 1) < id) {
+                ids.add(id);
+                entries.add(entry);
+                if (body.length() > 0) {
+                    body.append(',');
+                    bodyBytes++;
+                }
+                body.append(entry);
+                bodyBytes += entry.getBytes(StandardCharsets.UTF_8).length;
+                return;
+            }
+            // 동시 저장으로 순서가 뒤바뀐 경우 제자리에 삽입 (중복은 무시)
+            int pos = size;
+            while (pos > 0 && ids.get(pos - 1) > id) {
+                pos--;
+            }
+            if (pos > 0 && ids.get(pos - 1) == id) {
+                return;
+            }
+            ids.add(pos, id);
+            entries.add(pos, entry);
+            body.setLength(0);
+            body.append(String.join(",", entries));
+            bodyBytes = body.toString().getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        synchronized Transcript snapshot() {
+            long watermark = ids.isEmpty() ? 0L : ids.get(ids.size() - 1);
+            return new Transcript("[" + body + "]", watermark, ids.size());
+        }
+
+        synchronized Transcript since(long afterMessageId) {
+            int from = ids.size();
+            while (from > 0 && ids.get(from - 1) > afterMessageId) {
+                from--;
+            }
+            List<String> delta = entries.subList(from, entries.size());
+            long watermark = ids.isEmpty() ? afterMessageId : Math.max(afterMessageId, ids.get(ids.size() - 1));
+            return new Transcript("[" + String.join(",", delta) + "]", watermark, delta.size());
+        }
+
+        synchronized RecentWindow recent(int limit) {
+            int from = Math.max(0, ids.size() - Math.max(1, limit));
+            List<String> window = entries.subList(from, entries.size());
+            long watermark = ids.isEmpty() ? 0L : ids.get(ids.size() - 1);
+            return new RecentWindow("[" + String.join(",", window) + "]", watermark, window.size(), from, bodyBytes + 2);
+        }
+
+        synchronized long watermark() {
+            return ids.isEmpty() ? 0L : ids.get(ids.size() - 1);
+        }
+
+        synchronized int weight() {
+            return Math.max(1, body.length());
+        }
+    }
 }
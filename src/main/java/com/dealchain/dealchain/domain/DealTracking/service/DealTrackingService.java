@@ -3,8 +3,8 @@ package com.dealchain.dealchain.domain.DealTracking.service;
 import com.dealchain.dealchain.domain.DealTracking.dto.DealTrackingRequest;
 import com.dealchain.dealchain.domain.DealTracking.entity.DealTrackingData;
 import com.dealchain.dealchain.domain.DealTracking.repository.DealTrackingRepository;
-import com.dealchain.dealchain.domain.chat.entity.ChatRoom;
-import com.dealchain.dealchain.domain.chat.repository.ChatRoomRepository;
+import com.dealchain.dealchain.domain.chat.service.RoomParticipantResolver;
+import com.dealchain.dealchain.domain.chat.service.RoomParticipantResolver.RoomParticipants;
 import com.dealchain.dealchain.domain.security.HashService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -22,7 +22,7 @@ public class DealTrackingService {
 
     private final DealTrackingRepository dealTrackingRepository;
     private final HashService hashService;
-    private final ChatRoomRepository chatRoomRepository;
+    private final RoomParticipantResolver roomParticipantResolver;
 
     @Transactional(transactionManager = "dealTransactionManager")
     public void dealTrack(String type, DealTrackingRequest request) {
@@ -75,17 +75,17 @@ public class DealTrackingService {
     private boolean isUserAuthorizedForRoom(Long principalId, String roomId, String role) {
         if (principalId == null || roomId == null || role == null) return false;
 
-        Optional<ChatRoom> maybeRoom = chatRoomRepository.findById(roomId);
+        Optional<RoomParticipants> maybeRoom = roomParticipantResolver.find(roomId);
         if (!maybeRoom.isPresent()) return false;
 
-        ChatRoom room = maybeRoom.get();
+        RoomParticipants room = maybeRoom.get();
 
         // 역할에 따른 권한 확인
         if ("SELLER".equalsIgnoreCase(role)) {
-            return room.getSellerId() != null && room.getSellerId().equals(principalId);
+            return room.isSeller(principalId);
         }
         if ("BUYER".equalsIgnoreCase(role)) {
-            return room.getBuyerId() != null && room.getBuyerId().equals(principalId);
+            return room.isBuyer(principalId);
         }
 
         return false;
@@ -19,9 +19,9 @@ public class ChatNotification {
         WARNING_FRAUD,      // (경고) AI 사기 탐지 경고
         CONTRACT_REQUEST,   // (요청) 계약서 생성 요청
         CONTRACT_REJECT,    // (거부) 계약서 서명 거부
-        SIGN_REQUEST // (요청) 계약서 서명 요청
+        SIGN_REQUEST, // (요청) 계약서 서명 요청
 //        CONTRACT_EDITED,    // (알림) 계약서 수정됨
-//        CONTRACT_COMPLETED  // (성공) 계약서 서명 완료
+        CONTRACT_COMPLETED  // (성공) 계약서 서명 완료 및 PDF 생성 완료
     }
 
 
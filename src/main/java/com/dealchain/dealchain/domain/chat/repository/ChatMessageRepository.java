@@ -10,4 +10,7 @@ import java.util.List;
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
     List<ChatMessage> findByChatRoom_RoomIdOrderByTimestampAsc(String roomID);
+
+    // 캐시된 대화 기록 이후에 저장된 메시지 (워터마크 이후)
+    List<ChatMessage> findByChatRoom_RoomIdAndMessageIdGreaterThanOrderByMessageIdAsc(String roomId, Long messageId);
 }
@@ -2,22 +2,35 @@
 package com.dealchain.dealchain.domain.chat.service;
 import com.dealchain.dealchain.domain.AI.dto.detectDto;
 import com.dealchain.dealchain.domain.AI.service.ApiService;
-import com.dealchain.dealchain.domain.AI.service.ChatPaser;
 import com.dealchain.dealchain.domain.chat.dto.SQSrequestDto;
-import com.dealchain.dealchain.domain.chat.entity.ChatRoom;
-import com.dealchain.dealchain.domain.chat.repository.ChatRoomRepository;
 import com.dealchain.dealchain.domain.contract.service.NotificationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.awspring.cloud.sqs.annotation.SqsListener;
+import io.awspring.cloud.sqs.listener.SqsHeaders;
+import io.awspring.cloud.sqs.listener.acknowledgement.Acknowledgement;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.stream.Collectors;
 
@@ -29,10 +42,11 @@ public class FraudDetectionConsumer {
     private static final String FRAUD_DETECTION_QUEUE = "my-fraud-queue";
 
     private final ObjectMapper objectMapper;
-    private final ChatRoomRepository chatRoomRepository;
-    private final ChatPaser chatPaser;
+    private final RoomParticipantResolver roomParticipantResolver;
+    private final FraudScoringWindow fraudScoringWindow;
     private final NotificationService notificationService;
     private final ApiService flaskApiService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${MESSAGE_COUNT:10}")
     private int batchSize;
@@ -40,8 +54,63 @@ public class FraudDetectionConsumer {
     @Value("${THRESHOLD:0.7}")
     private double threshold;
 
-    // 내부 버퍼: SQSrequestDto들을 쌓아둔다
-    private final BlockingQueue<SQSrequestDto> buffer = new LinkedBlockingQueue<>();
+    // 동시에 모델을 호출하는 방 수 상한 (전체 배치 합산)
+    @Value("${fraud.scoring.max-in-flight:8}")
+    private int maxInFlight;
+
+    @Value("${fraud.scoring.timeout-ms:10000}")
+    private long scoringTimeoutMs;
+
+    // 버퍼에 가장 오래 머문 메시지가 이 시간을 넘기면 batchSize 미만이어도 처리
+    @Value("${fraud.batch.max-linger-ms:5000}")
+    private long maxLingerMs;
+
+    // 내부 버퍼: SQS 메시지와 ack 핸들을 함께 쌓아둔다 (점수 계산이 끝난 뒤에 ack)
+    private final BlockingQueue<Pending> buffer = new LinkedBlockingQueue<>();
+
+    // 방별 대기/진행 상태 (같은 방은 한 번에 하나만 점수 계산, 진행 중에 들어온 메시지는 끝난 뒤 이어서 처리)
+    private final Map<String, RoomWork> rooms = new ConcurrentHashMap<>();
+    // 점수 계산할 방 ID 큐 (방마다 최대 한 건만 들어 있음)
+    private final Sinks.Many<String> readyRooms = Sinks.many().unicast().onBackpressureBuffer();
+    private Disposable scoringPipeline;
+
+    private DistributionSummary batchSizeSummary;
+    private Timer batchLatency;
+    private Timer batchProcessing;
+    private Counter sizeFlushes;
+    private Counter lingerFlushes;
+
+    @PostConstruct
+    void initMetrics() {
+        this.batchSizeSummary = DistributionSummary.builder("fraud.batch.size")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        // 버퍼 진입부터 방의 점수 계산 완료까지 (방별로 가장 오래된 메시지 기준)
+        this.batchLatency = Timer.builder("fraud.batch.latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        // 방 하나의 점수 계산 시간
+        this.batchProcessing = Timer.builder("fraud.batch.processing")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sizeFlushes = Counter.builder("fraud.batch.flush").tag("trigger", "size").register(meterRegistry);
+        this.lingerFlushes = Counter.builder("fraud.batch.flush").tag("trigger", "linger").register(meterRegistry);
+    }
+
+    // 모든 배치가 공유하는 점수 계산 파이프라인 (전체 동시 호출 수를 max-in-flight로 제한)
+    @PostConstruct
+    void startScoring() {
+        this.scoringPipeline = readyRooms.asFlux()
+                .flatMap(this::runRoom, Math.max(1, maxInFlight))
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stopScoring() {
+        if (scoringPipeline != null) {
+            scoringPipeline.dispose();
+        }
+    }
 
     @SqsListener(
             value = FRAUD_DETECTION_QUEUE,
@@ -54,106 +123,255 @@ public class FraudDetectionConsumer {
         log.info("SQS에서 {}개의 메시지 수신.", messages.size());
 
         for (Message<String> msg : messages) {
+            Acknowledgement ack = msg.getHeaders().get(SqsHeaders.SQS_ACKNOWLEDGMENT_HEADER, Acknowledgement.class);
             String payload = msg.getPayload();
             if (payload == null || payload.trim().isEmpty()) {
                 log.warn("빈 페이로드 건너뜀. headers={}", msg.getHeaders());
+                acknowledge(ack);
                 continue;
             }
             try {
                 SQSrequestDto dto = objectMapper.readValue(payload, SQSrequestDto.class);
                 if (dto == null) {
                     log.warn("파싱된 DTO가 null 입니다. payload={}", payload);
+                    acknowledge(ack);
                     continue;
                 }
                 if (isValid(dto)) {
-                    buffer.offer(dto);
+                    buffer.offer(new Pending(dto, ack, System.nanoTime()));
                 } else {
+                    // 다시 받아도 처리할 수 없는 메시지는 바로 ack
                     log.warn("유효하지 않은 SQS 메시지: {}", dto);
+                    acknowledge(ack);
                 }
             } catch (Exception e) {
                 log.error("SQS 메시지 파싱 실패. payload={}", payload, e);
+                acknowledge(ack);
             }
         }
 
         // 버퍼에 batchSize 이상 모였으면 하나 또는 여러 배치 처리
         while (buffer.size() >= Math.max(1, batchSize)) {
+            sizeFlushes.increment();
             processBatchFromBuffer(batchSize);
         }
     }
 
+    /**
+     * batchSize가 차지 않아도 가장 오래된 메시지가 max-linger를 넘기면 처리 (조용한 방의 메시지가 버퍼에 남지 않도록)
+     */
+    @Scheduled(fixedDelayString = "${fraud.batch.flush-check-ms:1000}")
+    public void flushLingering() {
+        Pending oldest;
+        while ((oldest = buffer.peek()) != null
+                && System.nanoTime() - oldest.enqueuedAt() >= Duration.ofMillis(maxLingerMs).toNanos()) {
+            lingerFlushes.increment();
+            try {
+                processBatchFromBuffer(batchSize);
+            } catch (Exception e) {
+                log.error("버퍼 배치 처리 실패 (ack하지 않은 메시지는 SQS에서 다시 수신됨)", e);
+            }
+        }
+    }
+
     private void processBatchFromBuffer(int limit) {
-        List<SQSrequestDto> drainList = new ArrayList<>(limit);
-        buffer.drainTo(drainList, limit);
+        List<Pending> drainList = new ArrayList<>(Math.max(1, limit));
+        buffer.drainTo(drainList, Math.max(1, limit));
         if (drainList.isEmpty()) {
             return;
         }
         log.info("버퍼에서 {}개 꺼내 처리 시작.", drainList.size());
+        batchSizeSummary.record(drainList.size());
         processDtos(drainList);
     }
 
-    private void processDtos(List<SQSrequestDto> parsedDtos) {
-        Map<String, List<SQSrequestDto>> messagesByRoom = parsedDtos.stream()
-                .collect(Collectors.groupingBy(SQSrequestDto::getRoomId));
-
-        for (Map.Entry<String, List<SQSrequestDto>> entry : messagesByRoom.entrySet()) {
-            String roomId = entry.getKey();
-            List<SQSrequestDto> roomMessages = entry.getValue();
-            try {
-                log.info("AI 사기 탐지 모델 호출 예정. RoomId: {}, MessageCount: {}", roomId, roomMessages.size());
-                String chatLog = chatPaser.buildSenderToContentsJsonByRoomId(roomId);
-
-                // AI 사기 탐지 모델 호출
-                detectDto response = flaskApiService.sendPostRequest(chatLog);
+    private void processDtos(List<Pending> pendings) {
+        Map<String, List<Pending>> messagesByRoom = pendings.stream()
+                .collect(Collectors.groupingBy(p -> p.dto().getRoomId()));
+        messagesByRoom.forEach((roomId, messages) ->
+                log.info("AI 사기 탐지 대상. RoomId: {}, MessageCount: {}", roomId, messages.size()));
+        scoreRooms(messagesByRoom);
+    }
 
-                // 응답 값 유효성 검사: null 응답, fraud_score 또는 message_id가 없으면 에러 출력하고 건너뜀
-                if (response == null || response.getFraud_score() == null || response.getMessage_id() == null) {
-                    log.error("AI 응답 유효하지 않음.");
-                    continue;
-                }
+    /**
+     * 방별 점수 계산을 예약하고 바로 반환합니다. (SQS 수신/스케줄러 스레드를 막지 않음)
+     * 여러 방은 동시에(전체 최대 max-in-flight) 계산하고, 같은 방은 진행 중인 계산이 끝난 뒤에 이어서 계산하므로
+     * 방 안의 점수 계산 순서가 뒤바뀌지 않습니다. 한 방의 실패는 다른 방에 영향을 주지 않습니다.
+     * 점수 계산이 끝난(또는 새 메시지가 없는) 방의 메시지만 ack하고,
+     * 미뤄지거나 실패한 방의 메시지는 visibility timeout 이후 SQS에서 다시 수신됩니다.
+     */
+    private void scoreRooms(Map<String, List<Pending>> messagesByRoom) {
+        messagesByRoom.forEach(this::submit);
+    }
 
-                // 결과가 유효하고 임계값 초과 시 알림 처리
-                if (response.getFraud_score() >= threshold) {
+    private void submit(String roomId, List<Pending> pendings) {
+        boolean[] start = new boolean[1];
+        rooms.compute(roomId, (id, work) -> {
+            RoomWork w = work == null ? new RoomWork() : work;
+            w.pending.addAll(pendings);
+            w.requested = true;
+            if (!w.running) {
+                w.running = true;
+                start[0] = true;
+            }
+            return w;
+        });
+        if (start[0]) {
+            emit(roomId);
+        }
+    }
 
-                    Optional<ChatRoom> chatRoomOpt = chatRoomRepository.findById(roomId);
-                    if (chatRoomOpt.isEmpty()) {
-                        log.warn("ChatRoom을 찾을 수 없습니다. roomId={}", roomId);
-                        continue;
-                    }
-                    ChatRoom chatRoom = chatRoomOpt.get();
-                    Long seller = chatRoom.getSellerId();
-                    Long buyer = chatRoom.getBuyerId();
-                    if (seller == null || buyer == null) {
-                        log.warn("ChatRoom에서 seller/buyer ID를 찾을 수 없습니다. roomId={}, seller={}, buyer={}", roomId, seller, buyer);
-                        continue;
+    // 방의 대기 메시지를 가져가 한 번 점수 계산하고, 그 사이 새 요청이 있었으면 다시 큐에 넣음
+    private Mono<Boolean> runRoom(String roomId) {
+        List<Pending> taken = new ArrayList<>();
+        rooms.computeIfPresent(roomId, (id, work) -> {
+            taken.addAll(work.pending);
+            work.pending.clear();
+            work.requested = false;
+            return work;
+        });
+        long startedAt = System.nanoTime();
+        return scoreRoom(roomId)
+                .doOnNext(done -> {
+                    if (done) {
+                        taken.forEach(p -> acknowledge(p.ack()));
                     }
+                })
+                .doFinally(signal -> {
+                    long now = System.nanoTime();
+                    batchProcessing.record(Duration.ofNanos(now - startedAt));
+                    taken.stream().mapToLong(Pending::enqueuedAt).min()
+                            .ifPresent(oldest -> batchLatency.record(Duration.ofNanos(now - oldest)));
 
-                    Long msgId = response.getMessage_id();
-                    if (Objects.equals(msgId, seller)) {
-                        try {
-                            notificationService.sendNotification(msgId, seller, roomId,
-                                    "계약서 작성을 권고드립니다.", "WARNING_FRAUD", response.getReason());
-                        } catch (Exception e) {
-                            log.error("seller 알림 전송 실패. roomId={}, seller={}", roomId, seller, e);
+                    boolean[] again = new boolean[1];
+                    rooms.computeIfPresent(roomId, (id, work) -> {
+                        if (work.requested) {
+                            again[0] = true;
+                            return work;
                         }
-                    } else if (Objects.equals(msgId, buyer)) {
-                        try {
-                            notificationService.sendNotification(msgId, buyer, roomId,
-                                    "계약서 작성을 권고드립니다.", "WARNING_FRAUD", response.getReason());
-                        } catch (Exception e) {
-                            log.error("buyer 알림 전송 실패. roomId={}, buyer={}", roomId, buyer, e);
-                        }
-                    } else {
-                        log.warn("message_id가 seller 또는 buyer와 일치하지 않습니다. RoomId={}, msgId={}, seller={}, buyer={}",
-                                roomId, msgId, seller, buyer);
+                        return null;
+                    });
+                    if (again[0]) {
+                        emit(roomId);
                     }
-                } else {
-                    log.info("사기점수 미달. RoomId={}, fraud_score={}", roomId, response.getFraud_score());
-                }
+                });
+    }
 
+    // 여러 스레드에서 호출되므로 동시 emit 실패 시 잠깐 재시도
+    private void emit(String roomId) {
+        readyRooms.emitNext(roomId, Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    private void acknowledge(Acknowledgement ack) {
+        if (ack == null) {
+            return;
+        }
+        ack.acknowledgeAsync().whenComplete((v, e) -> {
+            if (e != null) {
+                log.warn("SQS 메시지 ack 실패: {}", e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * 최소 간격 때문에 미뤄진 방을 다시 점수 계산 (조용한 방의 마지막 메시지도 평가되도록)
+     */
+    @Scheduled(fixedDelayString = "${fraud.window.min-interval-ms:30000}")
+    public void rescoreDeferredRooms() {
+        List<String> dueRooms = fraudScoringWindow.drainDueRooms();
+        if (dueRooms.isEmpty()) {
+            return;
+        }
+        Map<String, List<Pending>> rooms = new LinkedHashMap<>();
+        dueRooms.forEach(roomId -> rooms.put(roomId, List.of()));
+        scoreRooms(rooms);
+    }
+
+    /**
+     * 모델 호출은 블로킹 없이 WebClient로, DB 조회/알림 처리는 boundedElastic 스레드에서 수행합니다.
+     * 오류는 이 방 안에서 처리하고 false로 끝냅니다. (다음 간격에 다시 시도)
+     *
+     * @return 점수 계산을 마쳤거나 새 메시지가 없으면 true, 미뤄졌거나 실패했으면 false
+     */
+    private Mono<Boolean> scoreRoom(String roomId) {
+        return Mono.fromCallable(() -> fraudScoringWindow.prepare(roomId))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(requestOpt -> {
+                    if (requestOpt.isEmpty()) {
+                        log.debug("점수 계산 생략 (새 메시지 없음 또는 최소 간격 미달). RoomId: {}", roomId);
+                        return Mono.just(!fraudScoringWindow.isDeferred(roomId));
+                    }
+                    FraudScoringWindow.ScoringRequest request = requestOpt.get();
+                    log.info("AI 사기 탐지 모델 호출. RoomId: {}, PayloadLength: {}", roomId, request.payload().length());
+
+                    // AI 사기 탐지 모델 호출 (최근 N개 메시지 윈도우만 전송, fraud.window.size)
+                    return flaskApiService.sendPostRequestAsync(request.payload())
+                            .timeout(Duration.ofMillis(scoringTimeoutMs))
+                            .publishOn(Schedulers.boundedElastic())
+                            .map(response -> handleResponse(request, response))
+                            .defaultIfEmpty(false)
+                            .doOnNext(done -> {
+                                if (!done) {
+                                    fraudScoringWindow.defer(roomId);
+                                }
+                            });
+                })
+                .onErrorResume(e -> {
+                    log.error("AI 호출/알림 처리 중 오류. RoomId: {}", roomId, e);
+                    fraudScoringWindow.defer(roomId);
+                    return Mono.just(false);
+                });
+    }
+
+    private boolean handleResponse(FraudScoringWindow.ScoringRequest request, detectDto response) {
+        String roomId = request.roomId();
+        // 응답 값 유효성 검사: fraud_score 또는 message_id가 없으면 에러 출력하고 건너뜀
+        if (response.getFraud_score() == null || response.getMessage_id() == null) {
+            log.error("AI 응답 유효하지 않음. RoomId: {}", roomId);
+            return false;
+        }
+        fraudScoringWindow.record(request, response);
+
+        // 결과가 유효하고 임계값 초과 시 알림 처리
+        if (response.getFraud_score() >= threshold) {
+            notifyFraud(roomId, response);
+        } else {
+            log.info("사기점수 미달. RoomId={}, fraud_score={}", roomId, response.getFraud_score());
+        }
+        return true;
+    }
+
+    private void notifyFraud(String roomId, detectDto response) {
+        Optional<RoomParticipantResolver.RoomParticipants> roomOpt = roomParticipantResolver.find(roomId);
+        if (roomOpt.isEmpty()) {
+            log.warn("ChatRoom을 찾을 수 없습니다. roomId={}", roomId);
+            return;
+        }
+        Long seller = roomOpt.get().sellerId();
+        Long buyer = roomOpt.get().buyerId();
+        if (seller == null || buyer == null) {
+            log.warn("ChatRoom에서 seller/buyer ID를 찾을 수 없습니다. roomId={}, seller={}, buyer={}", roomId, seller, buyer);
+            return;
+        }
+
+        Long msgId = response.getMessage_id();
+        if (Objects.equals(msgId, seller)) {
+            try {
+                notificationService.sendNotification(msgId, seller, roomId,
+                        "계약서 작성을 권고드립니다.", "WARNING_FRAUD", response.getReason());
+            } catch (Exception e) {
+                log.error("seller 알림 전송 실패. roomId={}, seller={}", roomId, seller, e);
+            }
+        } else if (Objects.equals(msgId, buyer)) {
+            try {
+                notificationService.sendNotification(msgId, buyer, roomId,
+                        "계약서 작성을 권고드립니다.", "WARNING_FRAUD", response.getReason());
             } catch (Exception e) {
-                log.error("AI 호출/알림 처리 중 오류. RoomId: {}", roomId, e);
-                throw e instanceof RuntimeException ? (RuntimeException) e : new RuntimeException(e);
+                log.error("buyer 알림 전송 실패. roomId={}, buyer={}", roomId, buyer, e);
             }
+        } else {
+            log.warn("message_id가 seller 또는 buyer와 일치하지 않습니다. RoomId={}, msgId={}, seller={}, buyer={}",
+                    roomId, msgId, seller, buyer);
         }
     }
 
@@ -162,4 +380,15 @@ public class FraudDetectionConsumer {
                 && dto.getSenderId() != null && dto.getSenderId() > 0
                 && dto.getMessage() != null && dto.getMessage().length() < 2048;
     }
-}
\ No newline at end of file
+
+    // 버퍼 항목: 파싱된 메시지, SQS ack 핸들, 버퍼 진입 시각(nanoTime)
+    private record Pending(SQSrequestDto dto, Acknowledgement ack, long enqueuedAt) {
+    }
+
+    // 방별 상태 (rooms.compute 안에서만 변경)
+    private static final class RoomWork {
+        private final List<Pending> pending = new ArrayList<>();
+        private boolean requested;
+        private boolean running;
+    }
+}
@@ -0,0 +1,160 @@
+package com.dealchain.dealchain.domain.chat.service;
+
+import com.dealchain.dealchain.domain.AI.dto.detectDto;
+import com.dealchain.dealchain.domain.AI.service.ChatPaser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 방별 사기 탐지 상태(마지막 점수 계산 messageId, 누적 점수)를 관리하고
+ * 전체 대화 대신 최근 N개 메시지만 모델에 보내도록 요청 본문을 만듭니다.
+ * 본문 형식은 기존 /detect_fraud 계약([{"senderId":"내용"}, ...])을 그대로 따릅니다.
+ * 같은 방은 설정한 간격 이내에 다시 점수 계산하지 않으며, 미뤄진 방은 간격이 지나면 다시 처리됩니다.
+ */
+@Slf4j
+@Component
+public class FraudScoringWindow {
+
+    private final ChatPaser chatPaser;
+    private final Cache<String, RoomScoreState> states;
+    // 간격 제한으로 미뤄진 방 (간격이 지나면 재점수 대상)
+    private final Set<String> deferredRooms = ConcurrentHashMap.newKeySet();
+
+    private final Counter modelCalls;
+    private final Counter skippedByInterval;
+    private final Counter skippedNoNewMessages;
+    private final Counter bytesSent;
+    private final Counter bytesSaved;
+
+    @Value("${fraud.window.size:20}")
+    private int windowSize;
+
+    @Value("${fraud.window.min-interval-ms:30000}")
+    private long minIntervalMs;
+
+    // 누적 점수 반영 비율 (새 점수 가중치)
+    @Value("${fraud.window.score-weight:0.5}")
+    private double scoreWeight;
+
+    public FraudScoringWindow(ChatPaser chatPaser,
+                              MeterRegistry meterRegistry,
+                              @Value("${fraud.window.state.max-rooms:10000}") long maxRooms) {
+        this.chatPaser = chatPaser;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxRooms)
+                .expireAfterAccess(Duration.ofHours(6))
+                .build();
+        this.modelCalls = Counter.builder("fraud.scoring.requests").tag("result", "called").register(meterRegistry);
+        this.skippedByInterval = Counter.builder("fraud.scoring.requests").tag("result", "skipped_interval").register(meterRegistry);
+        this.skippedNoNewMessages = Counter.builder("fraud.scoring.requests").tag("result", "skipped_no_new").register(meterRegistry);
+        this.bytesSent = Counter.builder("fraud.scoring.bytes.sent").baseUnit("bytes").register(meterRegistry);
+        this.bytesSaved = Counter.builder("fraud.scoring.bytes.saved").baseUnit("bytes").register(meterRegistry);
+    }
+
+    /**
+     * 점수 계산이 필요하면 요청 본문을 만들어 반환하고, 필요 없으면(새 메시지 없음/간격 미달) empty
+     */
+    public Optional<ScoringRequest> prepare(String roomId) {
+        RoomScoreState state = states.get(roomId, id -> new RoomScoreState());
+        synchronized (state) {
+            ChatPaser.RecentWindow window = chatPaser.buildRecentWindow(roomId, windowSize);
+            if (window.messageCount() == 0 || window.watermark() <= state.lastScoredMessageId) {
+                skippedNoNewMessages.increment();
+                deferredRooms.remove(roomId);
+                return Optional.empty();
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - state.lastScoredAt < minIntervalMs) {
+                skippedByInterval.increment();
+                deferredRooms.add(roomId);
+                return Optional.empty();
+            }
+
+            String payload = window.json();
+            int payloadBytes = payload.getBytes(StandardCharsets.UTF_8).length;
+            modelCalls.increment();
+            bytesSent.increment(payloadBytes);
+            bytesSaved.increment(Math.max(0, window.fullBytes() - payloadBytes));
+
+            // 다른 스레드가 같은 방을 동시에 계산하지 않도록 시각을 먼저 기록
+            state.lastScoredAt = now;
+            deferredRooms.remove(roomId);
+            return Optional.of(new ScoringRequest(roomId, payload, window.watermark()));
+        }
+    }
+
+    /**
+     * 모델 응답 반영: 워터마크 전진 및 누적 점수 갱신
+     */
+    public void record(ScoringRequest request, detectDto response) {
+        RoomScoreState state = states.get(request.roomId(), id -> new RoomScoreState());
+        synchronized (state) {
+            state.lastScoredMessageId = Math.max(state.lastScoredMessageId, request.watermark());
+            if (response != null && response.getFraud_score() != null) {
+                state.rollingScore = state.scoredCount == 0
+                        ? response.getFraud_score()
+                        : scoreWeight * response.getFraud_score() + (1 - scoreWeight) * state.rollingScore;
+                state.lastFraudType = response.getFraud_type();
+                state.scoredCount++;
+                log.debug("사기 탐지 누적 점수: roomId={}, score={}, type={}",
+                        request.roomId(), state.rollingScore, state.lastFraudType);
+            }
+        }
+    }
+
+    /**
+     * 점수 계산 실패 시 다음 간격에 다시 시도하도록 미룸
+     */
+    public void defer(String roomId) {
+        deferredRooms.add(roomId);
+    }
+
+    /**
+     * 간격 제한 또는 실패로 재점수를 기다리는 방인지
+     */
+    public boolean isDeferred(String roomId) {
+        return deferredRooms.contains(roomId);
+    }
+
+    /**
+     * 간격이 지나 다시 점수 계산할 수 있는 미뤄진 방 목록 (반환된 방은 목록에서 제거)
+     */
+    public List<String> drainDueRooms() {
+        long now = System.currentTimeMillis();
+        List<String> due = new ArrayList<>();
+        for (String roomId : deferredRooms) {
+            RoomScoreState state = states.getIfPresent(roomId);
+            if (state == null || now - state.lastScoredAt >= minIntervalMs) {
+                if (deferredRooms.remove(roomId)) {
+                    due.add(roomId);
+                }
+            }
+        }
+        return due;
+    }
+
+    /**
+     * 모델 호출 단위 (요청 본문과 포함된 마지막 messageId)
+     */
+    public record ScoringRequest(String roomId, String payload, long watermark) {
+    }
+
+    private static final class RoomScoreState {
+        private long lastScoredMessageId;
+        private long lastScoredAt;
+        private double rollingScore;
+        private String lastFraudType;
+        private int scoredCount;
+    }
+}
@@ -0,0 +1,98 @@
+package com.dealchain.dealchain.domain.chat.service;
+
+import com.dealchain.dealchain.domain.chat.entity.ChatRoom;
+import com.dealchain.dealchain.domain.chat.repository.ChatRoomRepository;
+import com.dealchain.dealchain.domain.product.ProductDeletedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * roomId -> (productId, sellerId, buyerId) 조회를 한 곳에서 처리합니다.
+ * 채팅방의 당사자 정보는 생성 후 바뀌지 않으므로 크기/TTL 제한 캐시에 보관하고,
+ * 계약서·거래 추적·채팅 서비스가 같은 캐시를 공유하여 중복 조회를 없앱니다.
+ */
+@Component
+public class RoomParticipantResolver {
+    private static final Logger log = LoggerFactory.getLogger(RoomParticipantResolver.class);
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final Cache<String, RoomParticipants> cache;
+
+    public RoomParticipantResolver(ChatRoomRepository chatRoomRepository,
+                                   @Value("${room.participants.cache.max-size:10000}") long maxSize,
+                                   @Value("${room.participants.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.chatRoomRepository = chatRoomRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    /**
+     * 채팅방 당사자 정보 조회 (캐시 미스 시 chat DB 1회 조회). 없는 방은 캐시하지 않음
+     */
+    public Optional<RoomParticipants> find(String roomId) {
+        if (roomId == null || roomId.isBlank()) {
+            return Optional.empty();
+        }
+        RoomParticipants cached = cache.getIfPresent(roomId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<RoomParticipants> loaded = chatRoomRepository.findById(roomId).map(RoomParticipants::from);
+        loaded.ifPresent(participants -> cache.put(roomId, participants));
+        return loaded;
+    }
+
+    /**
+     * 채팅방 당사자 정보 조회. 없으면 IllegalArgumentException
+     */
+    public RoomParticipants resolve(String roomId) {
+        return find(roomId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 채팅방(roomId)입니다. roomId=" + roomId));
+    }
+
+    // 상품 삭제가 커밋된 뒤 무효화 (커밋 전에 지우면 동시 조회가 삭제 전 값을 다시 캐시할 수 있음)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductDeleted(ProductDeletedEvent event) {
+        if (event.productId() == null) {
+            return;
+        }
+        boolean removed = cache.asMap().values().removeIf(p -> event.productId().equals(p.productId()));
+        if (removed) {
+            log.info("상품 삭제로 채팅방 당사자 캐시 무효화. productId={}", event.productId());
+        }
+    }
+
+    /**
+     * 채팅방 당사자 정보 (ChatRoom 엔티티 대신 캐시에 보관하는 불변 값)
+     */
+    public record RoomParticipants(String roomId, Long productId, Long sellerId, Long buyerId) {
+
+        static RoomParticipants from(ChatRoom room) {
+            return new RoomParticipants(room.getRoomId(), room.getProductId(), room.getSellerId(), room.getBuyerId());
+        }
+
+        public boolean isSeller(Long userId) {
+            return sellerId != null && Objects.equals(sellerId, userId);
+        }
+
+        public boolean isBuyer(Long userId) {
+            return buyerId != null && Objects.equals(buyerId, userId);
+        }
+
+        public boolean isParticipant(Long userId) {
+            return isSeller(userId) || isBuyer(userId);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.dealchain.dealchain.domain.chat.service;
 
+import com.dealchain.dealchain.domain.AI.service.ChatPaser;
 import com.dealchain.dealchain.domain.chat.dto.SQSrequestDto;
 import com.dealchain.dealchain.domain.chat.dto.WebMessageDto;
 import com.dealchain.dealchain.domain.chat.entity.ChatMessage;
@@ -22,8 +23,10 @@ import java.security.Principal;
 public class WebChatService {
     private final SimpMessageSendingOperations messagingTemplate;
     private final ChatRoomRepository chatRoomRepository;
+    private final RoomParticipantResolver roomParticipantResolver;
     private final ChatMessageRepository chatMessageRepository;
     private final XssSanitizer xssSanitizer;
+    private final ChatPaser chatPaser;
 
     // SQS 전송용
     private final SqsTemplate sqsTemplate;
@@ -36,14 +39,18 @@ public class WebChatService {
     //생성자 직접 구현
     public WebChatService(SimpMessageSendingOperations messagingTemplate,
                           ChatRoomRepository chatRoomRepository,
+                          RoomParticipantResolver roomParticipantResolver,
                           ChatMessageRepository chatMessageRepository,
                           XssSanitizer xssSanitizer,
+                          ChatPaser chatPaser,
                           SqsTemplate sqsTemplate,
                           ObjectMapper objectMapper) {
         this.messagingTemplate = messagingTemplate;
         this.chatRoomRepository = chatRoomRepository;
+        this.roomParticipantResolver = roomParticipantResolver;
         this.chatMessageRepository = chatMessageRepository;
         this.xssSanitizer = xssSanitizer;
+        this.chatPaser = chatPaser;
         this.sqsTemplate = sqsTemplate;
         this.objectMapper = objectMapper;
     }
@@ -53,9 +60,9 @@ public class WebChatService {
     public void handleChatMessage(WebMessageDto messageDto, Principal principal){
         String destination = "/sub/chat/room/" + messageDto.getRoomId();
 
-        // 1. Room 조회
+        // 1. Room 조회 (당사자 정보는 캐시에서 조회)
         String roomId = messageDto.getRoomId();
-        ChatRoom chatRoom = chatRoomRepository.findById(roomId)
+        RoomParticipantResolver.RoomParticipants room = roomParticipantResolver.find(roomId)
                 .orElseThrow(() -> new EntityNotFoundException("채팅방을 찾을 수 없습니다. ID: " + roomId));
 
         // 2. sender가 방 참가자인지 확인
@@ -70,8 +77,8 @@ public class WebChatService {
             throw new EntityNotFoundException("토큰의 사용자와 senderId가 일치하지 않습니다."+principalId+" "+messageDto.getSenderId());
         }
 
-        Long seller = chatRoom.getSellerId();
-        Long buyer = chatRoom.getBuyerId();
+        Long seller = room.sellerId();
+        Long buyer = room.buyerId();
         Long receiverId  = null;
         if (!messageDto.getSenderId().equals(seller) && !messageDto.getSenderId().equals(buyer)) {
             throw new EntityNotFoundException("채팅방에 존재하지 않는 사용자입니다. ID=" + messageDto.getSenderId());
@@ -93,6 +100,8 @@ public class WebChatService {
             //  살균된 메시지로 DTO를 업데이트 (SQS와 WebSocket에 동일하게 전송)
             messageDto.setMessage(sanitized);
 
+            // 연관관계 설정에는 ID만 필요하므로 프록시 참조 사용 (추가 조회 없음)
+            ChatRoom chatRoom = chatRoomRepository.getReferenceById(roomId);
             ChatMessage chatMessage = ChatMessage.builder()
                     .chatRoom(chatRoom)
                     .senderId(messageDto.getSenderId())
@@ -101,6 +110,8 @@ public class WebChatService {
                     .build();
 
             chatMessageRepository.save(chatMessage);
+            // 방 대화 기록에 이어 붙임 (커밋 후 반영, 계약서 생성/사기 탐지 시 전체 재조회 방지)
+            chatPaser.append(roomId, chatMessage);
 
             // SQS로 비동기 사기 탐지 요청 전송
             SQSrequestDto sqSrequestDto = SQSrequestDto.builder()
@@ -2,59 +2,64 @@ package com.dealchain.dealchain.domain.contract;
 
 
 import com.dealchain.dealchain.domain.AI.service.ContractJsonConverter;
-import com.dealchain.dealchain.domain.chat.entity.ChatRoom;
-import com.dealchain.dealchain.domain.chat.repository.ChatRoomRepository;
+import com.dealchain.dealchain.domain.chat.service.RoomParticipantResolver;
+import com.dealchain.dealchain.domain.chat.service.RoomParticipantResolver.RoomParticipants;
 import com.dealchain.dealchain.domain.contract.dto.*;
 
 import com.dealchain.dealchain.domain.contract.entity.ContractData;
 
 import com.dealchain.dealchain.domain.contract.repository.ContractDataRepository;
+import com.dealchain.dealchain.domain.contract.service.ContractFinalizationService;
+import com.dealchain.dealchain.domain.contract.service.ContractFinalizationWorker;
+import com.dealchain.dealchain.domain.contract.service.ContractDataCipher;
 import com.dealchain.dealchain.domain.contract.service.ContractService;
-import com.dealchain.dealchain.domain.contract.service.JsonToPdfService;
-import com.dealchain.dealchain.domain.member.Member;
-import com.dealchain.dealchain.domain.member.MemberRepository;
-import com.dealchain.dealchain.util.ByteArrayMultipartFile;
+import com.dealchain.dealchain.domain.security.S3UploadService;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.http.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
 import java.util.List;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import com.dealchain.dealchain.util.EncryptionUtil;
 
 @RestController
 @RequestMapping("/api/contracts")
 public class ContractController {
 
-    private final ChatRoomRepository chatRoomRepository;
+    private final RoomParticipantResolver roomParticipantResolver;
     private final ContractService contractService;
-    private final JsonToPdfService jsonToPdfService;
-    private final MemberRepository memberRepository;
+    private final ContractFinalizationService contractFinalizationService;
+    private final ContractFinalizationWorker contractFinalizationWorker;
     private final ContractDataRepository contractDataRepository;
     private static final Logger log = LoggerFactory.getLogger(ContractController.class);
-    private final EncryptionUtil encryptionUtil;
+    private final ContractDataCipher contractDataCipher;
     private final ContractJsonConverter contractJsonConverter;
 
+    // detail_pdf 기본 전달 방식: proxy(앱 서버가 PDF 바이트 전달) 또는 url(Pre-signed URL로 리다이렉트)
+    @Value("${contract.pdf.delivery.default-mode:proxy}")
+    private String defaultPdfDelivery;
+
     public ContractController(ContractService contractService,
-                              ChatRoomRepository chatRoomRepository,
-                              JsonToPdfService jsonToPdfService,
-                              MemberRepository memberRepository,
+                              RoomParticipantResolver roomParticipantResolver,
+                              ContractFinalizationService contractFinalizationService,
+                              ContractFinalizationWorker contractFinalizationWorker,
                               ContractDataRepository contractDataRepository,
-                              EncryptionUtil encryptionUtil,
+                              ContractDataCipher contractDataCipher,
                               ContractJsonConverter contractJsonConverter
     ) {
         this.contractService = contractService;
-        this.chatRoomRepository = chatRoomRepository;
-        this.jsonToPdfService = jsonToPdfService;
-        this.memberRepository = memberRepository;
+        this.roomParticipantResolver = roomParticipantResolver;
+        this.contractFinalizationService = contractFinalizationService;
+        this.contractFinalizationWorker = contractFinalizationWorker;
         this.contractDataRepository = contractDataRepository;
-        this.encryptionUtil = encryptionUtil;
+        this.contractDataCipher = contractDataCipher;
         this.contractJsonConverter = contractJsonConverter;
     }
 
@@ -92,7 +97,7 @@ public class ContractController {
                         .build();
                 return ResponseEntity.badRequest().body(resp);
             }
-            Optional<ChatRoom> roomOpt = chatRoomRepository.findById(roomId);
+            Optional<RoomParticipants> roomOpt = roomParticipantResolver.find(roomId);
             if (roomOpt.isEmpty()) {
                 SignResponseDto resp = SignResponseDto.builder()
                         .isSuccess(false)
@@ -101,11 +106,11 @@ public class ContractController {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(resp);
             }
 
-            ChatRoom room = roomOpt.get();
+            RoomParticipants room = roomOpt.get();
 
             // 거래 당사자 확인 (SELLER/BUYER)
-            Long sellerId = room.getSellerId();
-            Long buyerId = room.getBuyerId();
+            Long sellerId = room.sellerId();
+            Long buyerId = room.buyerId();
             String role;
             if (sellerId != null && sellerId.equals(userId)) {
                 role = "SELLER";
@@ -130,47 +135,33 @@ public class ContractController {
 
             // 3. Service의 비즈니스 로직 결과에 따라 응답
 
-            // 양측 서명 완료 시 PDF 생성
+            // 양측 서명 완료 시 PDF 생성은 최종화 작업으로 등록하고 바로 응답 (생성 완료 시 알림 전송)
             if(response.isBothSign()) {
-                Member seller = memberRepository.findById(sellerId)
-                        .orElseThrow(() -> new IllegalArgumentException("PDF 생성 실패: 판매자(ID:" + sellerId + ")를 찾을 수 없습니다."));
-
-                Member buyer = memberRepository.findById(buyerId)
-                        .orElseThrow(() -> new IllegalArgumentException("PDF 생성 실패: 구매자(ID:" + buyerId + ")를 찾을 수 없습니다."));
-
-                String sellerSignKey = seller.getSignatureImage(); // S3 서명 이미지 키
-                String buyerSignKey = buyer.getSignatureImage();  // S3 서명 이미지 키
-                String aiJson = requestDto.getContract(); // AI 생성 계약서 JSON,서비스 레이어에서 db와 값이 같은지 검증했기 때문에 그대로 사용
-
-                // JSON과 서명 이미지로 PDF 생성
-                byte[] pdfBytes = jsonToPdfService.createPdf(
-                        aiJson,
-                        sellerSignKey,
-                        buyerSignKey
-                );
-
-                //메모리에 저장된 pdf를 MultipartFile로 변환
-                MultipartFile finalPdfFile = new ByteArrayMultipartFile(
-                        pdfBytes,
-                        "contract-" + requestDto.getRoomId() + ".pdf",
-                        "application/pdf"
-                );
-
-
                 try{
-                    contractService.uploadAndSaveContract(finalPdfFile, sellerId, buyerId, roomId);
-
+                    contractFinalizationService.enqueue(roomId, sellerId, buyerId, userId);
                 }
                 catch (Exception e){
-                    log.error("PDF 업로드 및 저장 실패: roomId: {}, error: {}", requestDto.getRoomId(), e.getMessage());
+                    log.error("계약서 최종화 작업 등록 실패: roomId: {}, error: {}", requestDto.getRoomId(), e.getMessage());
                     response = SignResponseDto.builder()
                             .isSuccess(false)
-                            .data("PDF 서버에 업로드 및 저장 중 오류가 발생했습니다.")
+                            .data("계약서 PDF 생성 요청 중 오류가 발생했습니다.")
                             .bothSign(true)
                             .build();
                     return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
                 }
 
+                try {
+                    // 폴링 주기를 기다리지 않고 바로 실행기에 제출 (실패해도 작업은 DB에 남아 폴링으로 처리됨)
+                    contractFinalizationWorker.dispatchDueJobs();
+                } catch (Exception e) {
+                    log.warn("계약서 최종화 작업 즉시 실행 실패 (폴링으로 재시도): roomId: {}, error: {}", roomId, e.getMessage());
+                }
+
+                response = SignResponseDto.builder()
+                        .isSuccess(true)
+                        .data("양측 서명이 완료되었습니다. 계약서 PDF가 생성되면 알림으로 안내됩니다.")
+                        .bothSign(true)
+                        .build();
             }
 
             if (response.isSuccess()) {
@@ -221,12 +212,11 @@ public class ContractController {
                 return ResponseEntity.badRequest()
                         .body(ContractResponseDto.builder().isSuccess(false).data("roomId가 필요합니다.").build());
             }
-            ChatRoom room = chatRoomRepository.findById(roomId)
-                    .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 채팅방(roomId)입니다."));
+            RoomParticipants room = roomParticipantResolver.resolve(roomId);
 
             //DB에서 판매자 구매자 가져옴
-            Long dbSellerId = room.getSellerId(); // (DB에서 가져옴)
-            Long dbBuyerId = room.getBuyerId();   // (DB에서 가져옴)
+            Long dbSellerId = room.sellerId(); // (DB에서 가져옴)
+            Long dbBuyerId = room.buyerId();   // (DB에서 가져옴)
             //교차 검증
             //boolean isSeller = currentUserId.equals(dbSellerId);
             boolean isBuyer = currentUserId.equals(dbBuyerId);
@@ -248,7 +238,7 @@ public class ContractController {
 
             String decryptedJson;
             try {
-                decryptedJson = encryptionUtil.decryptString(contractData.getContractJsonData());
+                decryptedJson = contractDataCipher.decrypt(contractData);
 
                 if (decryptedJson == null) {
                     throw new IllegalStateException("복호화 결과가 null입니다.");
@@ -396,8 +386,10 @@ public class ContractController {
     }
 
     @GetMapping("/detail_pdf")
-    public ResponseEntity<byte[]> getContractPdfByRoomId(
+    public ResponseEntity<?> getContractPdfByRoomId(
             @RequestParam("roomId") String roomId,
+            @RequestParam(value = "delivery", required = false) String delivery,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
             @RequestHeader(value = "User-Agent", defaultValue = "Unknown") String deviceInfo) {
 
         try {
@@ -407,16 +399,46 @@ public class ContractController {
                 return ResponseEntity.status(401).body(new byte[0]);
             }
 
-            ContractService.GetContractResponse response = contractService.getContractByRoomId(roomId, deviceInfo);
-            byte[] pdfBytes = response.getPdfBytes();
+            // url 모드: PDF를 앱 서버 힙에 올리지 않고 S3 Pre-signed URL로 리다이렉트
+            if ("url".equalsIgnoreCase(delivery == null ? defaultPdfDelivery : delivery)) {
+                S3UploadService.PresignedUrl url = contractService.getCompletedContractPdfUrl(roomId, deviceInfo);
+                return ResponseEntity.status(HttpStatus.FOUND)
+                        .header(HttpHeaders.LOCATION, url.url())
+                        .cacheControl(CacheControl.noStore())
+                        .build();
+            }
+
+            ContractService.ContractPdfContent content =
+                    contractService.getCompletedContractPdfContent(roomId, deviceInfo, singleRange(range));
 
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDisposition(ContentDisposition.inline().filename("contract_" + roomId + ".pdf").build());
+            headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
 
-            return ResponseEntity.ok()
+            if (content.bytes() != null) {
+                // 캐시된 PDF: Resource로 반환하면 Range 요청은 Spring이 206으로 처리
+                return ResponseEntity.ok()
+                        .headers(headers)
+                        .body(new ByteArrayResource(content.bytes()));
+            }
+
+            // S3 스트림을 응답으로 바로 복사 (힙에 전체를 올리지 않음)
+            S3UploadService.ObjectStream stream = content.stream();
+            if (stream.contentLength() != null) {
+                headers.setContentLength(stream.contentLength());
+            }
+            if (stream.partial()) {
+                headers.set(HttpHeaders.CONTENT_RANGE, stream.contentRange());
+            }
+            StreamingResponseBody body = out -> {
+                try (stream) {
+                    stream.transferTo(out);
+                }
+            };
+            return ResponseEntity.status(stream.partial() ? HttpStatus.PARTIAL_CONTENT : HttpStatus.OK)
                     .headers(headers)
-                    .body(pdfBytes);
+                    .body(body);
 
         } catch (SecurityException e) {
             return ResponseEntity.status(403).body(new byte[0]);
@@ -428,6 +450,18 @@ public class ContractController {
         }
     }
 
+    // S3는 단일 범위만 지원하므로 형식이 올바른 단일 범위만 전달 (그 외에는 전체 반환)
+    private static String singleRange(String range) {
+        if (range == null) {
+            return null;
+        }
+        try {
+            return HttpRange.parseRanges(range).size() == 1 ? range : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
 
     //계약서 거절 버튼 -> 서명 초기화
     @PostMapping("/reject")
@@ -34,24 +34,38 @@ public class ContractData {
     @Column(nullable = false, updatable = false)
     private Long buyerId;
 
-    //저장할 때 암호화해서 저장
+    // 기존 형식: AES/ECB + Base64 문자열 (조회 시 새 형식으로 이전되며 이후 null)
     @Lob // Large Object (TEXT 또는 CLOB 타입으로 매핑)
-    @Column(name = "contract_json_data", columnDefinition = "LONGTEXT",nullable = false)
+    @Column(name = "contract_json_data", columnDefinition = "LONGTEXT")
     private String contractJsonData;
 
+    //저장할 때 암호화해서 저장 (청크 단위 AES-GCM 봉투 형식, 바이너리)
+    @Lob
+    @Column(name = "contract_json_blob", columnDefinition = "LONGBLOB")
+    private byte[] contractJsonBlob;
+
     @Builder
-    public ContractData(String roomId, Long sellerId, Long buyerId, String contractJsonData) {
-        if (roomId == null || sellerId == null || buyerId == null || contractJsonData == null) {
-            throw new IllegalArgumentException("필수 필드(roomId, sellerId, buyerId, contractJsonData)가 누락되었습니다.");
+    public ContractData(String roomId, Long sellerId, Long buyerId, byte[] contractJsonBlob) {
+        if (roomId == null || sellerId == null || buyerId == null || contractJsonBlob == null) {
+            throw new IllegalArgumentException("필수 필드(roomId, sellerId, buyerId, contractJsonBlob)가 누락되었습니다.");
         }
         this.roomId = roomId;
         this.sellerId = sellerId;
         this.buyerId = buyerId;
-        this.contractJsonData = contractJsonData;
+        this.contractJsonBlob = contractJsonBlob;
+    }
+
+    // (계약서 수정 편의 메서드) 새 형식으로 저장하면서 기존 형식 값은 제거
+    public void updateContractJson(byte[] encryptedJson) {
+        if (encryptedJson == null) {
+            throw new IllegalArgumentException("계약서 데이터가 비어있습니다.");
+        }
+        this.contractJsonBlob = encryptedJson;
+        this.contractJsonData = null;
     }
 
-    // (계약서 수정 편의 메서드)
-    public void updateContractJson(String newJsonData) {
-        this.contractJsonData = newJsonData;
+    // 아직 기존 형식(AES/ECB Base64)으로만 저장된 행인지
+    public boolean isLegacyFormat() {
+        return contractJsonBlob == null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,156 @@
+package com.dealchain.dealchain.domain.contract.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 양측 서명 완료 후 PDF 생성/업로드/해시 저장을 요청 스레드 밖에서 처리하기 위한 작업 테이블.
+ * roomId당 하나의 작업만 존재하며, 실패 시 지수 백오프로 재시도됩니다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+@Table(name = "contract_finalization_job", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"room_id"})
+}, indexes = {
+        @Index(name = "idx_finalization_status_next", columnList = "job_status, next_attempt_at")
+})
+public class ContractFinalizationJob {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "room_id", nullable = false, updatable = false)
+    private String roomId;
+
+    @Column(name = "seller_id", nullable = false, updatable = false)
+    private Long sellerId;
+
+    @Column(name = "buyer_id", nullable = false, updatable = false)
+    private Long buyerId;
+
+    // 마지막 서명을 한 사용자 (거래 추적 기록 시 principal로 사용)
+    @Column(name = "requested_by", nullable = false)
+    private Long requestedBy;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "job_status", nullable = false)
+    private JobStatus status;
+
+    @Column(name = "attempts", nullable = false)
+    private int attempts;
+
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    // 워커가 작업을 가져간 시각 (노드 장애 시 임대 만료 판단용)
+    @Column(name = "leased_at")
+    private LocalDateTime leasedAt;
+
+    @Column(name = "last_error", length = MAX_ERROR_LENGTH)
+    private String lastError;
+
+    // 완료 시 생성된 Contract ID
+    @Column(name = "contract_id")
+    private Long contractId;
+
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    /**
+     * 작업 상태
+     */
+    public enum JobStatus {
+        PENDING,      // 처리 대기 (재시도 대기 포함)
+        IN_PROGRESS,  // 워커가 처리 중
+        COMPLETED,    // PDF 업로드 및 저장 완료
+        FAILED        // 최대 재시도 횟수 초과
+    }
+
+    @Builder
+    public ContractFinalizationJob(String roomId, Long sellerId, Long buyerId, Long requestedBy) {
+        if (roomId == null || sellerId == null || buyerId == null || requestedBy == null) {
+            throw new IllegalArgumentException("필수 필드(roomId, sellerId, buyerId, requestedBy)가 누락되었습니다.");
+        }
+        this.roomId = roomId;
+        this.sellerId = sellerId;
+        this.buyerId = buyerId;
+        this.requestedBy = requestedBy;
+        this.status = JobStatus.PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = LocalDateTime.now();
+    }
+
+    /**
+     * 작업 완료 처리
+     */
+    public void complete(Long contractId) {
+        this.status = JobStatus.COMPLETED;
+        this.contractId = contractId;
+        this.completedAt = LocalDateTime.now();
+        this.leasedAt = null;
+        this.lastError = null;
+    }
+
+    /**
+     * 실패 기록. 최대 시도 횟수 이내면 백오프 후 재시도 대기, 초과하면 FAILED
+     */
+    public void fail(String error, int maxAttempts, Duration baseBackoff) {
+        this.attempts++;
+        this.leasedAt = null;
+        this.lastError = truncate(error);
+
+        if (this.attempts >= maxAttempts) {
+            this.status = JobStatus.FAILED;
+            return;
+        }
+        // 1, 2, 4, 8... 배수로 대기 (최대 2^6배)
+        long multiplier = 1L << Math.min(this.attempts - 1, 6);
+        this.status = JobStatus.PENDING;
+        this.nextAttemptAt = LocalDateTime.now().plus(baseBackoff.multipliedBy(multiplier));
+    }
+
+    /**
+     * 처리 자원이 부족해 실행하지 못한 작업을 시도 횟수 증가 없이 delay 뒤로 미룸
+     */
+    public void postpone(Duration delay) {
+        this.status = JobStatus.PENDING;
+        this.leasedAt = null;
+        this.nextAttemptAt = LocalDateTime.now().plus(delay);
+    }
+
+    /**
+     * 실패로 끝난 작업을 다시 대기 상태로 되돌림 (서명 재요청 시)
+     */
+    public void rearm(Long requestedBy) {
+        if (this.status != JobStatus.FAILED) {
+            return;
+        }
+        this.status = JobStatus.PENDING;
+        this.attempts = 0;
+        this.requestedBy = requestedBy;
+        this.nextAttemptAt = LocalDateTime.now();
+        this.lastError = null;
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -3,6 +3,9 @@ package com.dealchain.dealchain.domain.contract.repository;
 
 import com.dealchain.dealchain.domain.contract.entity.ContractData;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,4 +18,10 @@ public interface ContractDataRepository extends JpaRepository<ContractData, Long
     List<ContractData> findBySellerIdOrBuyerId(Long sellerId, Long buyerId);
     Optional<ContractData> findByRoomIdAndSellerIdAndBuyerId(String roomId, Long sellerId, Long buyerId);
 
+    // 기존 형식 행을 새 형식으로 이전 (그 사이 이전/수정된 행은 건드리지 않음, 반환값은 변경된 행 수)
+    @Modifying
+    @Query("update ContractData c set c.contractJsonBlob = :blob, c.contractJsonData = null " +
+            "where c.id = :id and c.contractJsonData is not null")
+    int migrateContractJson(@Param("id") Long id, @Param("blob") byte[] blob);
+
 }
\ No newline at end of file
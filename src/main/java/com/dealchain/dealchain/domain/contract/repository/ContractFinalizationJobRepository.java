@@ -0,0 +1,34 @@
+package com.dealchain.dealchain.domain.contract.repository;
+
+import com.dealchain.dealchain.domain.contract.entity.ContractFinalizationJob;
+import com.dealchain.dealchain.domain.contract.entity.ContractFinalizationJob.JobStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ContractFinalizationJobRepository extends JpaRepository<ContractFinalizationJob, Long> {
+
+    Optional<ContractFinalizationJob> findByRoomId(String roomId);
+
+    // 실행 시각이 지난 대기 작업 ID 조회 (오래된 순)
+    @Query("select j.id from ContractFinalizationJob j where j.status = :status and j.nextAttemptAt <= :now order by j.nextAttemptAt asc")
+    List<Long> findDueJobIds(@Param("status") JobStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    // 조건부 상태 변경: 여러 노드가 같은 작업을 동시에 가져가지 않도록 PENDING일 때만 임대
+    @Modifying(clearAutomatically = true)
+    @Query("update ContractFinalizationJob j set j.status = :to, j.leasedAt = :now where j.id = :id and j.status = :from")
+    int lease(@Param("id") Long id, @Param("from") JobStatus from, @Param("to") JobStatus to, @Param("now") LocalDateTime now);
+
+    // 임대 만료(워커 장애 등)된 처리 중 작업을 대기 상태로 되돌림
+    @Modifying(clearAutomatically = true)
+    @Query("update ContractFinalizationJob j set j.status = :to, j.leasedAt = null where j.status = :from and j.leasedAt < :expiredBefore")
+    int releaseExpiredLeases(@Param("from") JobStatus from, @Param("to") JobStatus to, @Param("expiredBefore") LocalDateTime expiredBefore);
+}
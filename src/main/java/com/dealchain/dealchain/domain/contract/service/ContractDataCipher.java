@@ -0,0 +1,90 @@
+package com.dealchain.dealchain.domain.contract.service;
+
+import com.dealchain.dealchain.domain.contract.entity.ContractData;
+import com.dealchain.dealchain.domain.contract.repository.ContractDataRepository;
+import com.dealchain.dealchain.domain.security.ContractEncryptionException;
+import com.dealchain.dealchain.util.EncryptionUtil;
+import com.dealchain.dealchain.util.EnvelopeEncryption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ContractData의 계약서 JSON 암복호화를 담당합니다.
+ * 새로 저장하는 값은 봉투 형식(AES-GCM, 바이너리)이고,
+ * 기존 AES/ECB Base64 행은 읽는 시점에 새 형식으로 재암호화합니다. (지연 이전)
+ * 조회는 대부분 읽기 전용 트랜잭션이라 엔티티 변경이 반영되지 않으므로, 이전은 별도 쓰기 트랜잭션에서 update 쿼리로 합니다.
+ */
+@Component
+public class ContractDataCipher {
+    private static final Logger log = LoggerFactory.getLogger(ContractDataCipher.class);
+
+    private final EnvelopeEncryption envelopeEncryption;
+    private final EncryptionUtil encryptionUtil;
+    private final ContractDataRepository contractDataRepository;
+    private final TransactionTemplate migrationTransaction;
+
+    public ContractDataCipher(EnvelopeEncryption envelopeEncryption,
+                              EncryptionUtil encryptionUtil,
+                              ContractDataRepository contractDataRepository,
+                              @Qualifier("contractTransactionManager") PlatformTransactionManager transactionManager) {
+        this.envelopeEncryption = envelopeEncryption;
+        this.encryptionUtil = encryptionUtil;
+        this.contractDataRepository = contractDataRepository;
+        this.migrationTransaction = new TransactionTemplate(transactionManager);
+        this.migrationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 계약서 JSON을 저장용 바이너리로 암호화
+     */
+    public byte[] encrypt(String contractJson) {
+        try {
+            return envelopeEncryption.encrypt(contractJson.getBytes(StandardCharsets.UTF_8));
+        } catch (Exception e) {
+            throw new ContractEncryptionException("계약서 암호화 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * 저장된 계약서 JSON 복호화. 기존 형식이면 새 형식으로 이전 후 반환
+     */
+    public String decrypt(ContractData contractData) {
+        if (!contractData.isLegacyFormat()) {
+            try {
+                return new String(envelopeEncryption.decrypt(contractData.getContractJsonBlob()), StandardCharsets.UTF_8);
+            } catch (Exception e) {
+                throw new ContractEncryptionException("계약서 복호화 중 오류가 발생했습니다.", e);
+            }
+        }
+
+        String json;
+        try {
+            json = encryptionUtil.decryptString(contractData.getContractJsonData());
+        } catch (Exception e) {
+            throw new ContractEncryptionException("계약서 복호화 중 오류가 발생했습니다.", e);
+        }
+        migrate(contractData, json);
+        return json;
+    }
+
+    // 호출한 쪽 트랜잭션과 별도로 커밋 (읽기 전용 조회에서도 반영), 이전 실패는 조회 결과에 영향을 주지 않음 (다음 조회 시 재시도)
+    private void migrate(ContractData contractData, String json) {
+        try {
+            byte[] encrypted = encrypt(json);
+            Integer updated = migrationTransaction.execute(status ->
+                    contractDataRepository.migrateContractJson(contractData.getId(), encrypted));
+            if (updated != null && updated > 0) {
+                log.info("ContractData를 새 암호화 형식으로 이전했습니다. id={}", contractData.getId());
+            }
+        } catch (Exception e) {
+            log.warn("ContractData 암호화 형식 이전 실패. id={}, error={}", contractData.getId(), e.getMessage());
+        }
+    }
+}
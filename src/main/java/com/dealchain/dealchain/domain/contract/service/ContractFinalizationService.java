@@ -0,0 +1,134 @@
+package com.dealchain.dealchain.domain.contract.service;
+
+import com.dealchain.dealchain.domain.contract.entity.ContractFinalizationJob;
+import com.dealchain.dealchain.domain.contract.entity.ContractFinalizationJob.JobStatus;
+import com.dealchain.dealchain.domain.contract.repository.ContractFinalizationJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 계약서 최종화(PDF 생성/업로드) 작업 테이블의 상태 전이를 담당합니다.
+ * 실제 처리는 {@link ContractFinalizationWorker}가 수행합니다.
+ */
+@Service
+@Transactional(transactionManager = "contractTransactionManager")
+public class ContractFinalizationService {
+    private static final Logger log = LoggerFactory.getLogger(ContractFinalizationService.class);
+
+    private final ContractFinalizationJobRepository jobRepository;
+
+    @Value("${contract.finalization.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${contract.finalization.retry-backoff-ms:5000}")
+    private long retryBackoffMs;
+
+    @Value("${contract.finalization.lease-timeout-ms:300000}")
+    private long leaseTimeoutMs;
+
+    public ContractFinalizationService(ContractFinalizationJobRepository jobRepository) {
+        this.jobRepository = jobRepository;
+    }
+
+    /**
+     * 양측 서명 완료 이벤트를 작업으로 등록합니다. (roomId 기준 멱등)
+     * 이미 작업이 있으면 그대로 반환하고, 실패로 끝난 작업이면 다시 대기 상태로 되돌립니다.
+     */
+    public ContractFinalizationJob enqueue(String roomId, Long sellerId, Long buyerId, Long requestedBy) {
+        Optional<ContractFinalizationJob> existing = jobRepository.findByRoomId(roomId);
+        if (existing.isPresent()) {
+            ContractFinalizationJob job = existing.get();
+            if (job.getStatus() == JobStatus.FAILED) {
+                job.rearm(requestedBy);
+                log.info("실패한 계약서 최종화 작업 재등록. roomId={}, jobId={}", roomId, job.getId());
+            }
+            return job;
+        }
+
+        ContractFinalizationJob job = ContractFinalizationJob.builder()
+                .roomId(roomId)
+                .sellerId(sellerId)
+                .buyerId(buyerId)
+                .requestedBy(requestedBy)
+                .build();
+        ContractFinalizationJob saved = jobRepository.save(job);
+        log.info("계약서 최종화 작업 등록. roomId={}, jobId={}", roomId, saved.getId());
+        return saved;
+    }
+
+    @Transactional(readOnly = true, transactionManager = "contractTransactionManager")
+    public List<Long> findDueJobIds(int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return jobRepository.findDueJobIds(JobStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, limit));
+    }
+
+    @Transactional(readOnly = true, transactionManager = "contractTransactionManager")
+    public Optional<ContractFinalizationJob> findByRoomId(String roomId) {
+        return jobRepository.findByRoomId(roomId);
+    }
+
+    /**
+     * 작업을 임대합니다. 다른 워커가 먼저 가져갔으면 빈 값 반환
+     */
+    public Optional<ContractFinalizationJob> lease(Long jobId) {
+        int updated = jobRepository.lease(jobId, JobStatus.PENDING, JobStatus.IN_PROGRESS, LocalDateTime.now());
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return jobRepository.findById(jobId);
+    }
+
+    /**
+     * 실행기에 제출하지 못한 작업을 시도 횟수 증가 없이 대기 상태로 반환
+     */
+    public void release(Long jobId) {
+        jobRepository.lease(jobId, JobStatus.IN_PROGRESS, JobStatus.PENDING, null);
+    }
+
+    /**
+     * PDF 렌더링이 포화 상태라 거절된 작업을 retryAfter 뒤로 미룸 (실패로 세지 않음)
+     */
+    public void postpone(Long jobId, Duration retryAfter) {
+        jobRepository.findById(jobId).ifPresent(job -> job.postpone(retryAfter));
+    }
+
+    public void markCompleted(Long jobId, Long contractId) {
+        jobRepository.findById(jobId).ifPresent(job -> job.complete(contractId));
+    }
+
+    /**
+     * 실패 기록 후 재시도 예약. 최대 시도 횟수를 넘으면 FAILED 상태가 되고 true 반환
+     */
+    public boolean markFailed(Long jobId, String error) {
+        Optional<ContractFinalizationJob> jobOpt = jobRepository.findById(jobId);
+        if (jobOpt.isEmpty()) {
+            return false;
+        }
+        ContractFinalizationJob job = jobOpt.get();
+        job.fail(error, maxAttempts, Duration.ofMillis(retryBackoffMs));
+        return job.getStatus() == JobStatus.FAILED;
+    }
+
+    /**
+     * 임대 시간이 지난 처리 중 작업을 대기 상태로 되돌림 (노드 재시작/장애 대비)
+     */
+    public int releaseExpiredLeases() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(Duration.ofMillis(leaseTimeoutMs));
+        int released = jobRepository.releaseExpiredLeases(JobStatus.IN_PROGRESS, JobStatus.PENDING, expiredBefore);
+        if (released > 0) {
+            log.warn("임대 만료된 계약서 최종화 작업 {}건을 대기 상태로 되돌렸습니다.", released);
+        }
+        return released;
+    }
+}
@@ -0,0 +1,180 @@
+package com.dealchain.dealchain.domain.contract.service;
+
+import com.dealchain.dealchain.domain.contract.ContractRepository;
+import com.dealchain.dealchain.domain.contract.entity.Contract;
+import com.dealchain.dealchain.domain.contract.entity.ContractData;
+import com.dealchain.dealchain.domain.contract.entity.ContractFinalizationJob;
+import com.dealchain.dealchain.domain.contract.repository.ContractDataRepository;
+import com.dealchain.dealchain.domain.member.Member;
+import com.dealchain.dealchain.domain.member.MemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 계약서 최종화 작업을 전용 스레드 풀에서 처리합니다.
+ * PDF 생성 -> S3 업로드 -> 해시 암호화 저장 -> 양측 완료 알림 순서로 진행됩니다.
+ */
+@Component
+public class ContractFinalizationWorker {
+    private static final Logger log = LoggerFactory.getLogger(ContractFinalizationWorker.class);
+
+    private final ContractFinalizationService finalizationService;
+    private final ContractPdfRenderer contractPdfRenderer;
+    private final ContractService contractService;
+    private final ContractRepository contractRepository;
+    private final ContractDataRepository contractDataRepository;
+    private final MemberRepository memberRepository;
+    private final ContractDataCipher contractDataCipher;
+    private final NotificationService notificationService;
+    private final ThreadPoolTaskExecutor executor;
+
+    public ContractFinalizationWorker(ContractFinalizationService finalizationService,
+                                      ContractPdfRenderer contractPdfRenderer,
+                                      ContractService contractService,
+                                      ContractRepository contractRepository,
+                                      ContractDataRepository contractDataRepository,
+                                      MemberRepository memberRepository,
+                                      ContractDataCipher contractDataCipher,
+                                      NotificationService notificationService,
+                                      @Qualifier("contractFinalizationExecutor") ThreadPoolTaskExecutor executor) {
+        this.finalizationService = finalizationService;
+        this.contractPdfRenderer = contractPdfRenderer;
+        this.contractService = contractService;
+        this.contractRepository = contractRepository;
+        this.contractDataRepository = contractDataRepository;
+        this.memberRepository = memberRepository;
+        this.contractDataCipher = contractDataCipher;
+        this.notificationService = notificationService;
+        this.executor = executor;
+    }
+
+    /**
+     * 주기적으로 대기 작업을 가져와 실행 (재시도 및 다른 노드에서 등록된 작업 포함)
+     */
+    @Scheduled(fixedDelayString = "${contract.finalization.poll-interval-ms:2000}")
+    public void poll() {
+        try {
+            finalizationService.releaseExpiredLeases();
+            dispatchDueJobs();
+        } catch (Exception e) {
+            log.error("계약서 최종화 작업 폴링 중 오류: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 실행기의 남은 용량만큼 대기 작업을 임대해서 제출합니다.
+     * 서명 API에서도 등록 직후 호출하여 폴링 주기를 기다리지 않도록 합니다.
+     */
+    public void dispatchDueJobs() {
+        int capacity = freeCapacity();
+        if (capacity <= 0) {
+            return;
+        }
+        List<Long> dueJobIds = finalizationService.findDueJobIds(capacity);
+        for (Long jobId : dueJobIds) {
+            finalizationService.lease(jobId).ifPresent(this::submit);
+        }
+    }
+
+    private void submit(ContractFinalizationJob job) {
+        try {
+            executor.execute(() -> process(job));
+        } catch (TaskRejectedException e) {
+            // 큐가 가득 찬 경우 다음 폴링에서 다시 시도
+            log.warn("계약서 최종화 실행기 포화. jobId={}는 다음 주기에 처리됩니다.", job.getId());
+            finalizationService.release(job.getId());
+        }
+    }
+
+    private int freeCapacity() {
+        ThreadPoolExecutor pool = executor.getThreadPoolExecutor();
+        return pool.getMaximumPoolSize() - pool.getActiveCount() + pool.getQueue().remainingCapacity();
+    }
+
+    private void process(ContractFinalizationJob job) {
+        // 요청 스레드의 인증 정보가 없으므로 마지막 서명자 기준으로 거래 추적을 기록
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(job.getRequestedBy(), null, new ArrayList<>()));
+        SecurityContextHolder.setContext(context);
+
+        long startedAt = System.currentTimeMillis();
+        try {
+            Long contractId = finalizeContract(job);
+            finalizationService.markCompleted(job.getId(), contractId);
+            log.info("계약서 최종화 완료. roomId={}, contractId={}, elapsed={}ms",
+                    job.getRoomId(), contractId, System.currentTimeMillis() - startedAt);
+            notifyCompleted(job);
+        } catch (PdfRenderRejectedException e) {
+            // 렌더링 실행기 포화: 실패로 세지 않고 retryAfter 뒤에 다시 시도
+            finalizationService.postpone(job.getId(), e.getRetryAfter());
+            log.info("PDF 렌더링 포화로 계약서 최종화를 미룹니다. roomId={}, jobId={}, retryAfter={}ms",
+                    job.getRoomId(), job.getId(), e.getRetryAfter().toMillis());
+        } catch (Exception e) {
+            boolean exhausted = finalizationService.markFailed(job.getId(), e.getMessage());
+            if (exhausted) {
+                log.error("계약서 최종화 최종 실패 (재시도 초과). roomId={}, jobId={}", job.getRoomId(), job.getId(), e);
+            } else {
+                log.warn("계약서 최종화 실패, 재시도 예정. roomId={}, jobId={}, error={}",
+                        job.getRoomId(), job.getId(), e.getMessage());
+            }
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    /**
+     * PDF를 생성하여 업로드하고 Contract를 저장합니다.
+     * 이전 시도에서 Contract 저장까지 끝났다면 다시 만들지 않습니다. (멱등)
+     */
+    private Long finalizeContract(ContractFinalizationJob job) throws Exception {
+        String roomId = job.getRoomId();
+        Optional<Contract> existing = contractRepository.findByRoomId(roomId);
+        if (existing.isPresent()) {
+            log.info("이미 저장된 계약서가 있어 PDF 생성을 건너뜁니다. roomId={}", roomId);
+            return existing.get().getId();
+        }
+
+        ContractData contractData = contractDataRepository
+                .findByRoomIdAndSellerIdAndBuyerId(roomId, job.getSellerId(), job.getBuyerId())
+                .orElseThrow(() -> new IllegalStateException("최종화할 계약서 데이터를 찾을 수 없습니다. roomId=" + roomId));
+
+        // 서명 시 클라이언트 JSON과 동일함을 검증했으므로 DB 값을 그대로 사용
+        String contractJson = contractDataCipher.decrypt(contractData);
+
+        Member seller = memberRepository.findById(job.getSellerId())
+                .orElseThrow(() -> new IllegalArgumentException("PDF 생성 실패: 판매자(ID:" + job.getSellerId() + ")를 찾을 수 없습니다."));
+        Member buyer = memberRepository.findById(job.getBuyerId())
+                .orElseThrow(() -> new IllegalArgumentException("PDF 생성 실패: 구매자(ID:" + job.getBuyerId() + ")를 찾을 수 없습니다."));
+
+        byte[] pdfBytes = contractPdfRenderer.render(
+                contractJson,
+                seller.getSignatureImage(),
+                buyer.getSignatureImage()
+        );
+
+        Contract saved = contractService.uploadAndSaveContract(
+                pdfBytes, "contract-" + roomId + ".pdf", job.getSellerId(), job.getBuyerId(), roomId);
+        return saved.getId();
+    }
+
+    private void notifyCompleted(ContractFinalizationJob job) {
+        String message = "계약서 서명이 완료되어 PDF가 생성되었습니다.";
+        notificationService.sendNotification(job.getSellerId(), job.getBuyerId(), job.getRoomId(),
+                message, "CONTRACT_COMPLETED", null);
+        notificationService.sendNotification(job.getBuyerId(), job.getSellerId(), job.getRoomId(),
+                message, "CONTRACT_COMPLETED", null);
+    }
+}
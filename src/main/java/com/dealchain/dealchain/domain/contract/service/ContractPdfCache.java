@@ -0,0 +1,317 @@
+package com.dealchain.dealchain.domain.contract.service;
+
+import com.dealchain.dealchain.domain.contract.entity.Contract;
+import com.dealchain.dealchain.util.EnvelopeEncryption;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 서명 완료된 계약서 PDF 캐시. (계약서 ID 기준)
+ * 완료된 계약서는 바뀌지 않으므로 무결성 검증을 통과한 PDF와 검증된 해시를 함께 보관하고,
+ * 다시 조회할 때 S3 GET과 해시 재계산을 생략합니다.
+ * 계약서 레코드의 파일 경로나 암호화 해시가 바뀌면 해당 항목은 무효로 처리됩니다.
+ * 디스크 계층(선택)은 봉투 암호화로 저장하므로 복호화에 성공한 항목만 사용합니다. (변조 시 GCM 인증 실패)
+ * PDF 본문이 용량 제한으로 밀려나도 검증 여부(와 검증한 S3 객체의 ETag)는 따로 기억하므로
+ * Pre-signed URL이나 S3 스트리밍으로 전달할 때 재검증하지 않습니다.
+ */
+@Component
+public class ContractPdfCache {
+    private static final Logger log = LoggerFactory.getLogger(ContractPdfCache.class);
+
+    private final EnvelopeEncryption envelopeEncryption;
+    private final Cache<Long, Entry> memory;
+    // 검증을 마친 계약서 레코드 (계약서 ID -> 검증 당시 파일 경로/암호화 해시/검증 해시/ETag)
+    private final Cache<Long, Verification> verified;
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+    private final Counter stale;
+
+    @Value("${contract.pdf.cache.enabled:true}")
+    private boolean enabled;
+
+    // 이보다 큰 PDF는 메모리 계층에 두지 않음 (검증 후 S3에서 스트리밍)
+    @Value("${contract.pdf.cache.max-entry-bytes:8388608}")
+    private long maxEntryBytes;
+
+    @Value("${contract.pdf.cache.disk.enabled:false}")
+    private boolean diskEnabled;
+
+    @Value("${contract.pdf.cache.disk.dir:cache/contract-pdfs}")
+    private String diskDir;
+
+    @Value("${contract.pdf.cache.disk.max-bytes:1073741824}")
+    private long diskMaxBytes;
+
+    private Path directory;
+
+    public ContractPdfCache(EnvelopeEncryption envelopeEncryption,
+                            MeterRegistry meterRegistry,
+                            @Value("${contract.pdf.cache.memory-max-bytes:67108864}") long memoryMaxBytes,
+                            @Value("${contract.pdf.cache.verified-max-entries:100000}") long verifiedMaxEntries) {
+        this.envelopeEncryption = envelopeEncryption;
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(memoryMaxBytes)
+                .weigher((Long id, Entry entry) -> Math.max(1, entry.pdf().length))
+                .build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(verifiedMaxEntries)
+                .build();
+        this.memoryHits = Counter.builder("contract.pdf.cache").tag("result", "hit").tag("tier", "memory").register(meterRegistry);
+        this.diskHits = Counter.builder("contract.pdf.cache").tag("result", "hit").tag("tier", "disk").register(meterRegistry);
+        this.misses = Counter.builder("contract.pdf.cache").tag("result", "miss").tag("tier", "none").register(meterRegistry);
+        this.stale = Counter.builder("contract.pdf.cache").tag("result", "stale").tag("tier", "none").register(meterRegistry);
+    }
+
+    @PostConstruct
+    void init() throws IOException {
+        if (diskEnabled) {
+            this.directory = Paths.get(diskDir);
+            Files.createDirectories(directory);
+        }
+    }
+
+    /**
+     * 검증된 PDF가 있으면 반환. 레코드(파일 경로, 암호화 해시)가 바뀌었으면 무효화 후 empty
+     */
+    public Optional<byte[]> get(Contract contract) {
+        if (!enabled || contract.getId() == null) {
+            return Optional.empty();
+        }
+        Entry entry = memory.getIfPresent(contract.getId());
+        if (entry != null) {
+            if (entry.matches(contract)) {
+                memoryHits.increment();
+                return Optional.of(entry.pdf());
+            }
+            stale.increment();
+            evict(contract.getId());
+        }
+
+        Entry stored = readFromDisk(contract.getId());
+        if (stored != null) {
+            if (stored.matches(contract)) {
+                diskHits.increment();
+                if (stored.pdf().length <= maxEntryBytes) {
+                    memory.put(contract.getId(), stored);
+                }
+                verified.asMap().putIfAbsent(contract.getId(),
+                        new Verification(stored.filePath(), stored.encryptedHash(), stored.verifiedHash(), null));
+                return Optional.of(stored.pdf());
+            }
+            stale.increment();
+            evict(contract.getId());
+        }
+
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * 현재 레코드 기준으로 무결성 검증을 마친 계약서인지 (PDF 본문 캐시 여부와 무관)
+     */
+    public boolean isVerified(Contract contract) {
+        if (!enabled || contract.getId() == null) {
+            return false;
+        }
+        Verification verification = verified.getIfPresent(contract.getId());
+        return verification != null && verification.matches(contract);
+    }
+
+    /**
+     * 검증한 S3 객체의 ETag (스트리밍 시 If-Match로 같은 객체인지 확인). 모르면 empty
+     */
+    public Optional<String> verifiedETag(Contract contract) {
+        if (!isVerified(contract)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(verified.getIfPresent(contract.getId())).map(Verification::eTag);
+    }
+
+    /**
+     * 무결성 검증을 마친 PDF 저장
+     *
+     * @param verifiedHash 검증에 사용한 SHA-256 (검증 대상이 아닌 레거시 계약서는 null)
+     * @param eTag         검증한 S3 객체의 ETag (모르면 null)
+     */
+    public void put(Contract contract, byte[] pdf, String verifiedHash, String eTag) {
+        if (!enabled || contract.getId() == null || pdf == null) {
+            return;
+        }
+        Entry entry = new Entry(contract.getFilePath(), contract.getEncryptedHash(), verifiedHash, pdf);
+        if (pdf.length <= maxEntryBytes) {
+            memory.put(contract.getId(), entry);
+        }
+        verified.put(contract.getId(), new Verification(entry.filePath(), entry.encryptedHash(), verifiedHash, eTag));
+        writeToDisk(contract.getId(), entry);
+    }
+
+    /**
+     * 계약서 레코드가 바뀌거나 삭제될 때 호출
+     */
+    public void evict(Long contractId) {
+        if (contractId == null) {
+            return;
+        }
+        memory.invalidate(contractId);
+        verified.invalidate(contractId);
+        if (directory != null) {
+            try {
+                Files.deleteIfExists(directory.resolve(fileName(contractId)));
+            } catch (IOException e) {
+                log.warn("계약서 PDF 캐시 파일 삭제 실패. contractId={}, error={}", contractId, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 디스크 계층이 설정 용량을 넘으면 오래 사용되지 않은 파일부터 삭제
+     */
+    @Scheduled(fixedDelayString = "${contract.pdf.cache.disk.purge-interval-ms:600000}")
+    public void trimDisk() {
+        if (directory == null) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> list = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) list::iterator) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    continue;
+                }
+                files.add(file);
+                total += Files.size(file);
+            }
+            if (total <= diskMaxBytes) {
+                return;
+            }
+            files.sort(Comparator.comparing(ContractPdfCache::lastModified));
+            int removed = 0;
+            for (Path file : files) {
+                if (total <= diskMaxBytes) {
+                    break;
+                }
+                long size = Files.size(file);
+                Files.deleteIfExists(file);
+                total -= size;
+                removed++;
+            }
+            log.info("계약서 PDF 디스크 캐시 {}건 정리", removed);
+        } catch (IOException e) {
+            log.warn("계약서 PDF 디스크 캐시 정리 중 오류: {}", e.getMessage());
+        }
+    }
+
+    private Entry readFromDisk(Long contractId) {
+        if (directory == null) {
+            return null;
+        }
+        Path file = directory.resolve(fileName(contractId));
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                envelopeEncryption.decryptingStream(Files.newInputStream(file)))) {
+            String filePath = readNullable(in);
+            String encryptedHash = readNullable(in);
+            String verifiedHash = readNullable(in);
+            byte[] pdf = in.readAllBytes();
+            // 최근 사용 시각 갱신 (용량 정리 기준)
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return new Entry(filePath, encryptedHash, verifiedHash, pdf);
+        } catch (IOException e) {
+            log.warn("계약서 PDF 캐시 파일을 읽을 수 없습니다. contractId={}, error={}", contractId, e.getMessage());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // 다음 정리에서 재시도
+            }
+            return null;
+        }
+    }
+
+    // 파일 형식: 봉투 암호화된 [파일 경로, 암호화 해시, 검증 해시, PDF 본문]
+    private void writeToDisk(Long contractId, Entry entry) {
+        if (directory == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream header = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(header)) {
+                writeNullable(out, entry.filePath());
+                writeNullable(out, entry.encryptedHash());
+                writeNullable(out, entry.verifiedHash());
+            }
+            Path temp = Files.createTempFile(directory, fileName(contractId), ".tmp");
+            try (var out = envelopeEncryption.encryptingStream(Files.newOutputStream(temp))) {
+                header.writeTo(out);
+                out.write(entry.pdf());
+            }
+            Files.move(temp, directory.resolve(fileName(contractId)),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // 디스크 저장 실패 시 메모리 계층만 사용
+            log.warn("계약서 PDF 캐시 디스크 저장 실패. contractId={}, error={}", contractId, e.getMessage());
+        }
+    }
+
+    private static String fileName(Long contractId) {
+        return "contract-" + contractId;
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private record Entry(String filePath, String encryptedHash, String verifiedHash, byte[] pdf) {
+
+        boolean matches(Contract contract) {
+            return Objects.equals(filePath, contract.getFilePath())
+                    && Objects.equals(encryptedHash, contract.getEncryptedHash());
+        }
+    }
+
+    private record Verification(String filePath, String encryptedHash, String verifiedHash, String eTag) {
+
+        boolean matches(Contract contract) {
+            return Objects.equals(filePath, contract.getFilePath())
+                    && Objects.equals(encryptedHash, contract.getEncryptedHash());
+        }
+    }
+}
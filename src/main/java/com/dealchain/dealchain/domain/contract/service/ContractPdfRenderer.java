@@ -0,0 +1,164 @@
+package com.dealchain.dealchain.domain.contract.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 계약서 PDF 렌더링을 전용 스레드 풀에서 실행합니다.
+ * 동시 실행 수(스레드/큐)와 작업별 예상 메모리 합계를 제한하고,
+ * 포화 상태면 바로 거절하면서 다시 시도할 시점(retryAfter)을 알려줍니다.
+ */
+@Component
+public class ContractPdfRenderer {
+    private static final Logger log = LoggerFactory.getLogger(ContractPdfRenderer.class);
+
+    // 작업 상태: 대기 -> 실행 중, 또는 대기 -> 포기(대기 중 타임아웃)
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int ABANDONED = 2;
+
+    private final JsonToPdfService jsonToPdfService;
+    private final ThreadPoolTaskExecutor executor;
+    private final Semaphore memoryBudgetKb;
+    private final int memoryBudgetTotalKb;
+
+    private final Timer renderTimer;
+    private final Timer queueWaitTimer;
+    private final DistributionSummary outputBytes;
+    private final Counter rejectedByQueue;
+    private final Counter rejectedByMemory;
+
+    // 작업 하나의 고정 메모리 추정치 (폰트 서브셋, 서명 이미지, 출력 버퍼)
+    @Value("${pdf.render.base-bytes-per-job:8388608}")
+    private long baseBytesPerJob;
+
+    // 계약서 JSON 한 글자당 추정 메모리 (파싱된 Map, 줄바꿈 결과, 콘텐츠 스트림)
+    @Value("${pdf.render.bytes-per-json-char:16}")
+    private long bytesPerJsonChar;
+
+    @Value("${pdf.render.timeout-seconds:60}")
+    private long timeoutSeconds;
+
+    @Value("${pdf.render.min-retry-after-ms:1000}")
+    private long minRetryAfterMs;
+
+    public ContractPdfRenderer(JsonToPdfService jsonToPdfService,
+                               @Qualifier("pdfRenderExecutor") ThreadPoolTaskExecutor executor,
+                               MeterRegistry meterRegistry,
+                               @Value("${pdf.render.memory-budget-mb:256}") int memoryBudgetMb) {
+        this.jsonToPdfService = jsonToPdfService;
+        this.executor = executor;
+        this.memoryBudgetTotalKb = Math.max(1, memoryBudgetMb) * 1024;
+        this.memoryBudgetKb = new Semaphore(memoryBudgetTotalKb);
+
+        this.renderTimer = Timer.builder("pdf.render.duration").publishPercentileHistogram().register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("pdf.render.queue.wait").publishPercentileHistogram().register(meterRegistry);
+        this.outputBytes = DistributionSummary.builder("pdf.render.output").baseUnit("bytes").register(meterRegistry);
+        this.rejectedByQueue = Counter.builder("pdf.render.rejected").tag("reason", "queue").register(meterRegistry);
+        this.rejectedByMemory = Counter.builder("pdf.render.rejected").tag("reason", "memory").register(meterRegistry);
+        Gauge.builder("pdf.render.queue.depth", executor, e -> e.getThreadPoolExecutor().getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("pdf.render.active", executor, ThreadPoolTaskExecutor::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder("pdf.render.memory.reserved", memoryBudgetKb, s -> (memoryBudgetTotalKb - s.availablePermits()) * 1024.0)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * PDF를 렌더링하고 완료될 때까지 기다립니다.
+     *
+     * @throws PdfRenderRejectedException 큐 또는 메모리 예산이 가득 찬 경우 (작업은 실행되지 않음)
+     */
+    public byte[] render(String contractJson, String sellerSignatureKey, String buyerSignatureKey) throws Exception {
+        int permits = permitsFor(contractJson);
+        if (!memoryBudgetKb.tryAcquire(permits)) {
+            rejectedByMemory.increment();
+            throw new PdfRenderRejectedException("PDF 렌더링 메모리 예산이 부족합니다.", retryAfter());
+        }
+
+        AtomicInteger state = new AtomicInteger(QUEUED);
+        long submittedAt = System.nanoTime();
+        Future<byte[]> future;
+        try {
+            future = executor.submit(() -> {
+                if (!state.compareAndSet(QUEUED, RUNNING)) {
+                    return null;
+                }
+                queueWaitTimer.record(Duration.ofNanos(System.nanoTime() - submittedAt));
+                try {
+                    byte[] pdf = renderTimer.recordCallable(() ->
+                            jsonToPdfService.createPdf(contractJson, sellerSignatureKey, buyerSignatureKey));
+                    outputBytes.record(pdf == null ? 0 : pdf.length);
+                    return pdf;
+                } finally {
+                    memoryBudgetKb.release(permits);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            memoryBudgetKb.release(permits);
+            rejectedByQueue.increment();
+            throw new PdfRenderRejectedException("PDF 렌더링 큐가 가득 찼습니다.", retryAfter());
+        }
+
+        try {
+            return future.get(timeoutSeconds, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            if (state.compareAndSet(QUEUED, ABANDONED)) {
+                // 시작 전이면 실행되지 않으므로 여기서 예산 반환
+                memoryBudgetKb.release(permits);
+            }
+            future.cancel(true);
+            throw new RuntimeException("PDF 렌더링 시간이 초과되었습니다. (" + timeoutSeconds + "초)", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("PDF 렌더링 대기 중 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw new RuntimeException("PDF 렌더링 중 오류가 발생했습니다.", cause);
+        }
+    }
+
+    // 예상 메모리를 KB 단위 허가 수로 변환 (예산 전체보다 크면 단독 실행되도록 예산 크기로 제한)
+    private int permitsFor(String contractJson) {
+        long jsonChars = contractJson == null ? 0 : contractJson.length();
+        long estimatedBytes = baseBytesPerJob + jsonChars * bytesPerJsonChar;
+        long kb = Math.max(1, estimatedBytes / 1024);
+        return (int) Math.min(kb, memoryBudgetTotalKb);
+    }
+
+    /**
+     * 대기 중인 작업이 모두 끝날 때까지의 예상 시간 (평균 렌더링 시간 기준)
+     */
+    private Duration retryAfter() {
+        double meanMs = renderTimer.mean(TimeUnit.MILLISECONDS);
+        int queued = executor.getThreadPoolExecutor().getQueue().size();
+        int threads = Math.max(1, executor.getMaxPoolSize());
+        long estimateMs = (long) (meanMs * (queued + 1) / threads);
+        Duration retryAfter = Duration.ofMillis(Math.max(minRetryAfterMs, estimateMs));
+        log.warn("PDF 렌더링 포화. queued={}, active={}, retryAfter={}ms",
+                queued, executor.getActiveCount(), retryAfter.toMillis());
+        return retryAfter;
+    }
+}
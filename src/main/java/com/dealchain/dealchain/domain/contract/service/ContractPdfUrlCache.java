@@ -0,0 +1,97 @@
+package com.dealchain.dealchain.domain.contract.service;
+
+import com.dealchain.dealchain.domain.contract.entity.Contract;
+import com.dealchain.dealchain.domain.security.S3UploadService;
+import com.dealchain.dealchain.domain.security.S3UploadService.PresignedUrl;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * 완료된 계약서 PDF의 Pre-signed URL 캐시. (계약서 ID 기준)
+ * 만료 직전(refresh-margin)까지 같은 URL을 재사용해 조회마다 서명을 새로 만들지 않습니다.
+ * 계약서 레코드의 파일 경로가 바뀌면 새 URL을 발급합니다.
+ */
+@Component
+public class ContractPdfUrlCache {
+
+    private final S3UploadService s3UploadService;
+    private final Cache<Long, Entry> urls;
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${contract.pdf.delivery.url-ttl-seconds:300}")
+    private long ttlSeconds;
+
+    public ContractPdfUrlCache(S3UploadService s3UploadService,
+                               MeterRegistry meterRegistry,
+                               @Value("${contract.pdf.delivery.url-refresh-margin-seconds:60}") long refreshMarginSeconds,
+                               @Value("${contract.pdf.delivery.url-cache-max-entries:10000}") long maxEntries) {
+        this.s3UploadService = s3UploadService;
+        this.urls = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new UntilRefreshMargin(Duration.ofSeconds(refreshMarginSeconds)))
+                .build();
+        this.hits = Counter.builder("contract.pdf.url.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("contract.pdf.url.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 URL이 있으면 반환하고, 없거나 파일 경로가 바뀌었으면 새로 발급합니다.
+     */
+    public PresignedUrl get(Contract contract, String fileName) {
+        Entry cached = contract.getId() == null ? null : urls.getIfPresent(contract.getId());
+        if (cached != null && Objects.equals(cached.filePath(), contract.getFilePath())) {
+            hits.increment();
+            return cached.url();
+        }
+
+        misses.increment();
+        PresignedUrl url = s3UploadService.generatePresignedDownload(
+                contract.getFilePath(),
+                Duration.ofSeconds(ttlSeconds),
+                "application/pdf",
+                "inline; filename=\"" + fileName + "\"");
+        if (contract.getId() != null) {
+            urls.put(contract.getId(), new Entry(contract.getFilePath(), url));
+        }
+        return url;
+    }
+
+    public void evict(Long contractId) {
+        if (contractId != null) {
+            urls.invalidate(contractId);
+        }
+    }
+
+    private record Entry(String filePath, PresignedUrl url) {
+    }
+
+    // URL 만료 시각에서 여유 시간을 뺀 시점에 캐시에서 제거 (받은 쪽이 열기 전에 만료되지 않도록)
+    private record UntilRefreshMargin(Duration margin) implements Expiry<Long, Entry> {
+
+        @Override
+        public long expireAfterCreate(Long key, Entry entry, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), entry.url().expiresAt()).minus(margin);
+            return Math.max(0, remaining.toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,20 +1,18 @@
 package com.dealchain.dealchain.domain.contract.service;
 
 
-import java.io.UnsupportedEncodingException;
 import com.dealchain.dealchain.domain.AI.dto.ContractDefaultReqeustDto;
 import com.dealchain.dealchain.domain.AI.dto.RationaleResponseDto;
 import com.dealchain.dealchain.domain.AI.service.*;
 import com.dealchain.dealchain.domain.contract.dto.*;
 import com.dealchain.dealchain.domain.contract.repository.ContractDataRepository;
 import com.dealchain.dealchain.domain.member.MemberRepository;
-import com.dealchain.dealchain.domain.security.ContractEncryptionException;
 import com.dealchain.dealchain.domain.security.XssSanitizer;
 import com.dealchain.dealchain.util.EncryptionUtil;
 import com.dealchain.dealchain.domain.DealTracking.dto.DealTrackingRequest;
 import com.dealchain.dealchain.domain.DealTracking.service.DealTrackingService;
-import com.dealchain.dealchain.domain.chat.entity.ChatRoom;
-import com.dealchain.dealchain.domain.chat.repository.ChatRoomRepository;
+import com.dealchain.dealchain.domain.chat.service.RoomParticipantResolver;
+import com.dealchain.dealchain.domain.chat.service.RoomParticipantResolver.RoomParticipants;
 import com.dealchain.dealchain.domain.contract.entity.ContractData;
 import com.dealchain.dealchain.domain.contract.repository.SignRepository;
 import com.dealchain.dealchain.domain.contract.entity.Contract;
@@ -33,11 +31,12 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 @Service
 @Transactional(transactionManager = "contractTransactionManager")
@@ -49,10 +48,12 @@ public class ContractService {
     private final S3UploadService s3UploadService;
     private final HashService hashService;
     private final EncryptionUtil encryptionUtil;
+    private final ContractDataCipher contractDataCipher;
     private final DealTrackingService dealTrackingService;
-    private final ChatRoomRepository chatRoomRepository;
+    private final RoomParticipantResolver roomParticipantResolver;
     private final SignRepository signRepository;
     private final AIHelpService aiHelpService;
+    private final AIStreamPublisher aiStreamPublisher;
     private final ChatPaser chatPaser;
     private final AICreateContract aiCreateContract;
     private final ProductService productService;
@@ -63,14 +64,17 @@ public class ContractService {
     private final ContractJsonConverter contractJsonConverter;
     private final RationaleJsonConverter rationaleJsonConverter;
     private final XssSanitizer xssSanitizer;
+    private final ContractPdfCache contractPdfCache;
+    private final ContractPdfUrlCache contractPdfUrlCache;
 
     public ContractService(ContractRepository contractRepository,
                            S3UploadService s3UploadService,
                            HashService hashService,
                            EncryptionUtil encryptionUtil,
+                           ContractDataCipher contractDataCipher,
                            DealTrackingService dealTrackingService,
                            SignRepository signRepository,
-                           ChatRoomRepository chatRoomRepository,
+                           RoomParticipantResolver roomParticipantResolver,
                            ChatPaser chatPaser,
                            AICreateContract aiCreateContract,
                            ProductService productService,
@@ -82,15 +86,20 @@ public class ContractService {
                            ContractJsonConverter contractJsonConverter,
                            RationaleJsonConverter rationaleJsonConverter,
                            XssSanitizer xssSanitizer,
-                           AIHelpService aiHelpService) {
+                           AIHelpService aiHelpService,
+                           AIStreamPublisher aiStreamPublisher,
+                           ContractPdfCache contractPdfCache,
+                           ContractPdfUrlCache contractPdfUrlCache) {
         this.contractRepository = contractRepository;
         this.s3UploadService = s3UploadService;
         this.hashService = hashService;
         this.encryptionUtil = encryptionUtil;
+        this.contractDataCipher = contractDataCipher;
         this.dealTrackingService = dealTrackingService;
-        this.chatRoomRepository = chatRoomRepository;
+        this.roomParticipantResolver = roomParticipantResolver;
         this.signRepository= signRepository;
         this.aiHelpService=aiHelpService;
+        this.aiStreamPublisher = aiStreamPublisher;
         this.chatPaser = chatPaser;
         this.aiCreateContract = aiCreateContract;
         this.productService = productService;
@@ -102,24 +111,42 @@ public class ContractService {
         this.contractJsonConverter = contractJsonConverter;
         this.rationaleJsonConverter = rationaleJsonConverter;
         this.xssSanitizer =xssSanitizer;
+        this.contractPdfCache = contractPdfCache;
+        this.contractPdfUrlCache = contractPdfUrlCache;
     }
 
     public String getSummaryofContract(String contract){
         return aiHelpService.invokeClaude(contract);
     }
 
+    /**
+     * 스트리밍 모드면 AI 응답 조각을 요청자에게 STOMP로 전달하면서 호출합니다.
+     * 최종 결과(전체 응답)는 기존과 동일하게 반환됩니다.
+     */
+    private String withAIStream(Long userId, String roomId, String type, Function<Consumer<String>, String> call) {
+        if (!aiStreamPublisher.isEnabled()) {
+            return call.apply(null);
+        }
+        AIStreamPublisher.Session session = aiStreamPublisher.open(userId, roomId, type);
+        try {
+            String result = call.apply(session);
+            session.complete();
+            return result;
+        } catch (RuntimeException e) {
+            session.fail("AI 응답 생성 중 오류가 발생했습니다.");
+            throw e;
+        }
+    }
+
     @Transactional
     public SignResponseDto sendTobuyerService(ContractCreateRequestDto requestDto,Long currentUserId) throws Exception{
         String roomId = requestDto.getRoomId();
-        Optional<Long> productIdOpt = chatRoomRepository.findProductIdByRoomId(roomId);
-        Long productId = productIdOpt.orElseThrow(
-                () -> new IllegalArgumentException("해당 roomId에 대한 productId가 없습니다. roomId=" + roomId)
-        );
+        RoomParticipants room = roomParticipantResolver.resolve(roomId);
+        Long productId = room.productId();
         Product product = productService.findById(productId);
 
         Long sellerId = product.getMemberId();
-        Long buyerId = chatRoomRepository.findBuyerIdByRoomId(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 roomId에 대한 buyerId가 없습니다. roomId=" + roomId));
+        Long buyerId = room.buyerId();
 
         if(!requestDto.getBuyerId().equals(buyerId)||!requestDto.getSellerId().equals(sellerId)){
             throw new IllegalArgumentException("요청에 들어있는 값들이 실제 회원 정보와 일치하지 않습니다.");
@@ -169,15 +196,12 @@ public class ContractService {
         //sendContractRequestNotification 호출 -> 판매자에게 알림 전송(sellerId,message: "구매자가 계약서 서명을 거절했습니다.")
 
         String roomId = requestDto.getRoomId();
-        Optional<Long> productIdOpt = chatRoomRepository.findProductIdByRoomId(roomId);
-        Long productId = productIdOpt.orElseThrow(
-                () -> new IllegalArgumentException("해당 roomId에 대한 productId가 없습니다. roomId=" + roomId)
-        );
+        RoomParticipants room = roomParticipantResolver.resolve(roomId);
+        Long productId = room.productId();
         Product product = productService.findById(productId);
 
         Long sellerId = product.getMemberId();
-        Long buyerId = chatRoomRepository.findBuyerIdByRoomId(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 roomId에 대한 buyerId가 없습니다. roomId=" + roomId));
+        Long buyerId = room.buyerId();
 
         if(!requestDto.getBuyerId().equals(buyerId)||!requestDto.getSellerId().equals(sellerId)){
             throw new IllegalArgumentException("요청에 들어있는 값들이 실제 회원 정보와 일치하지 않습니다.");
@@ -220,10 +244,8 @@ public class ContractService {
 
         //값이 맞는지 검증 조회
         String roomId = requestDto.getRoomId();
-        Optional<Long> productIdOpt = chatRoomRepository.findProductIdByRoomId(roomId);
-        Long productId = productIdOpt.orElseThrow(
-                () -> new IllegalArgumentException("해당 roomId에 대한 productId가 없습니다. roomId=" + roomId)
-        );
+        RoomParticipants room = roomParticipantResolver.resolve(roomId);
+        Long productId = room.productId();
         Product product = productService.findById(productId);
         Long sellerId = product.getMemberId(); // (DB의 '진짜' 판매자 ID)
 
@@ -233,21 +255,15 @@ public class ContractService {
         }
 
         // 구매자 ID 조회
-        Long buyerId = chatRoomRepository.findBuyerIdByRoomId(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 roomId에 대한 buyerId가 없습니다. roomId=" + roomId));
+        Long buyerId = room.buyerId();
 
         //수정된 계약서 업데이트
         ContractData contractData = contractDataRepository.findByRoomIdAndSellerIdAndBuyerId(roomId, sellerId, buyerId)
                 .orElseThrow(() -> new IllegalArgumentException("수정할 기존 계약서 데이터를 찾을 수 없습니다."));
 
 
-        // 새로운 계약서 내용을 암호화
-        String encryptedJson;
-        try {
-            encryptedJson = encryptionUtil.encryptString(requestDto.getEditjson());
-        } catch (UnsupportedEncodingException e) {
-            throw new ContractEncryptionException("계약서 암호화 중 오류가 발생했습니다.", e);
-        }
+        // 새로운 계약서 내용을 암호화 (실패 시 ContractEncryptionException)
+        byte[] encryptedJson = contractDataCipher.encrypt(requestDto.getEditjson());
         contractData.updateContractJson(encryptedJson);
 
         // 거래 추적 ---
@@ -271,15 +287,12 @@ public class ContractService {
     public ContractResponseDto createContract(ContractCreateRequestDto requestDto, Long currentUserId) {
 
         String roomId = requestDto.getRoomId();
-        Optional<Long> productIdOpt = chatRoomRepository.findProductIdByRoomId(roomId);
-        Long productId = productIdOpt.orElseThrow(
-                () -> new IllegalArgumentException("해당 roomId에 대한 productId가 없습니다. roomId=" + roomId)
-        );
+        RoomParticipants room = roomParticipantResolver.resolve(roomId);
+        Long productId = room.productId();
         Product product = productService.findById(productId);
 
         Long sellerId = product.getMemberId(); // (DB의 '진짜' 판매자 ID)
-        Long buyerId = chatRoomRepository.findBuyerIdByRoomId(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 roomId에 대한 buyerId가 없습니다. roomId=" + roomId));
+        Long buyerId = room.buyerId();
 
         boolean isCallerSeller = currentUserId.equals(sellerId);
         boolean isCallerBuyer = currentUserId.equals(buyerId);
@@ -319,7 +332,8 @@ public class ContractService {
                 .seller_name(sellerName).buyer_name(buyerName).product(product).build();
 
 
-        String aiContractJson = aiCreateContract.invokeClaude(chatLog, default_request,null);
+        String aiContractJson = withAIStream(currentUserId, roomId, "CREATE",
+                onDelta -> aiCreateContract.invokeClaude(chatLog, default_request, null, onDelta));
         com.dealchain.dealchain.domain.AI.dto.ContractResponseDto contractResponseDto = contractJsonConverter.fromJson(aiContractJson);
 
         // --- 3. [DB 저장] (Transaction) ---
@@ -330,9 +344,9 @@ public class ContractService {
         //초기 서명 테이블 생성,both_pending
         signTableService.createInitialSignIfNotExists(roomId, product);
 
-        String encryptedJson;
+        byte[] encryptedJson;
         try {
-            encryptedJson = encryptionUtil.encryptString(aiContractJson);
+            encryptedJson = contractDataCipher.encrypt(aiContractJson);
         } catch (Exception e) {
             log.error("계약서 암호화 실패: {}", e.getMessage(), e);
             throw new RuntimeException("계약서 암호화 중 오류가 발생했습니다.", e);
@@ -343,7 +357,7 @@ public class ContractService {
                 .roomId(roomId)
                 .sellerId(sellerId)
                 .buyerId(buyerId)
-                .contractJsonData(encryptedJson)
+                .contractJsonBlob(encryptedJson)
                 .build();
         contractDataRepository.save(contractDataToSave); //계약서 저장
 
@@ -362,15 +376,12 @@ public class ContractService {
     @Transactional
     public ContractSummaryDto summaryContract(ContractCreateRequestDto requestDto, Long currentUserId) {
         String roomId = requestDto.getRoomId();
-        Optional<Long> productIdOpt = chatRoomRepository.findProductIdByRoomId(roomId);
-        Long productId = productIdOpt.orElseThrow(
-                () -> new IllegalArgumentException("해당 roomId에 대한 productId가 없습니다. roomId=" + roomId)
-        );
+        RoomParticipants room = roomParticipantResolver.resolve(roomId);
+        Long productId = room.productId();
         Product product = productService.findById(productId);
 
         Long sellerId = product.getMemberId();
-        Long buyerId = chatRoomRepository.findBuyerIdByRoomId(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 roomId에 대한 buyerId가 없습니다. roomId=" + roomId));
+        Long buyerId = room.buyerId();
 
         boolean isCallerSeller = currentUserId.equals(sellerId);
         boolean isCallerBuyer = currentUserId.equals(buyerId);
@@ -389,7 +400,8 @@ public class ContractService {
                     .build();
         }
 
-        String summary = getSummaryofContract(aiContractJson);
+        String summary = withAIStream(currentUserId, roomId, "SUMMARY",
+                onDelta -> aiHelpService.invokeClaude(aiContractJson, onDelta));
 
 
         // 거래 추적 및 서명 테이블 초기화(읽기성 작업)
@@ -408,15 +420,12 @@ public class ContractService {
     @Transactional
     public ContractReasonDto reasonContract(ContractCreateRequestDto requestDto, Long currentUserId) {
         String roomId = requestDto.getRoomId();
-        Optional<Long> productIdOpt = chatRoomRepository.findProductIdByRoomId(roomId);
-        Long productId = productIdOpt.orElseThrow(
-                () -> new IllegalArgumentException("해당 roomId에 대한 productId가 없습니다. roomId=" + roomId)
-        );
+        RoomParticipants room = roomParticipantResolver.resolve(roomId);
+        Long productId = room.productId();
         Product product = productService.findById(productId);
 
         Long sellerId = product.getMemberId();
-        Long buyerId = chatRoomRepository.findBuyerIdByRoomId(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 roomId에 대한 buyerId가 없습니다. roomId=" + roomId));
+        Long buyerId = room.buyerId();
 
         boolean isCallerSeller = currentUserId.equals(sellerId);
         boolean isCallerBuyer = currentUserId.equals(buyerId);
@@ -451,7 +460,8 @@ public class ContractService {
                 .build();
 
         // AI 호출 및 변환
-        String reasonJson = aiCreateContract.invokeClaude(chatLog, default_request, aiContractJson);
+        String reasonJson = withAIStream(currentUserId, roomId, "REASON",
+                onDelta -> aiCreateContract.invokeClaude(chatLog, default_request, aiContractJson, onDelta));
 
 
         RationaleResponseDto rationaleResponseDto = rationaleJsonConverter.fromJson(reasonJson);
@@ -477,7 +487,7 @@ public class ContractService {
                                 + " sellerId=" + sellerId + " buyerId=" + buyerId));
 
         try {
-            String decrypted = encryptionUtil.decryptString(contractData.getContractJsonData());
+            String decrypted = contractDataCipher.decrypt(contractData);
             if (decrypted == null) {
                 throw new IllegalStateException("복호화 결과가 null입니다. ContractData id=" + contractData.getId());
             }
@@ -514,7 +524,7 @@ public class ContractService {
         // 복호화는 예외 처리
         String decryptedContractJson;
         try {
-            decryptedContractJson = encryptionUtil.decryptString(contractData.getContractJsonData());
+            decryptedContractJson = contractDataCipher.decrypt(contractData);
         } catch (Exception e) {
             log.error("계약서 복호화 실패: {}", e.getMessage(), e);
             return SignResponseDto.builder()
@@ -600,15 +610,17 @@ public class ContractService {
 
     /**
      * PDF 파일을 S3에 업로드하고 경로를 RDS에 저장합니다.
+     * 업로드 스트림에서 해시를 함께 계산하므로 PDF를 다시 읽지 않습니다.
      *
-     * @param pdfFile  업로드할 PDF 파일
+     * @param pdfBytes 업로드할 PDF 내용
+     * @param fileName 파일명 (예: "contract-roomId.pdf")
      * @param sellerId 판매자 ID
      * @param buyerId  구매자 ID
      * @param roomId   채팅방 ID
      * @return 저장된 Contract 엔티티
      */
-    public Contract uploadAndSaveContract(MultipartFile pdfFile, Long sellerId, Long buyerId, String roomId) {
-        if (pdfFile == null || pdfFile.isEmpty()) {
+    public Contract uploadAndSaveContract(byte[] pdfBytes, String fileName, Long sellerId, Long buyerId, String roomId) {
+        if (pdfBytes == null || pdfBytes.length == 0) {
             throw new IllegalArgumentException("PDF 파일이 제공되지 않았습니다.");
         }
 
@@ -618,17 +630,15 @@ public class ContractService {
 
         // roomId가 제공된 경우 chat DB에 존재하는지 확인
         if (roomId != null && !roomId.isEmpty()) {
-            Optional<ChatRoom> chatRoom = chatRoomRepository.findById(roomId);
-            if (chatRoom.isEmpty()) {
+            if (roomParticipantResolver.find(roomId).isEmpty()) {
                 throw new IllegalArgumentException("존재하지 않는 채팅방(roomId)입니다.");
             }
         }
 
-        // S3에 PDF 업로드
-        String filePath = s3UploadService.uploadPdf(pdfFile, "contracts/");
-
-        // PDF 파일의 내용으로부터 해시값 생성
-        String hashValue = hashService.generateHashFromFile(pdfFile);
+        // S3에 PDF 업로드 (업로드하면서 PDF 내용의 해시값 생성)
+        S3UploadService.UploadResult uploaded = s3UploadService.uploadPdfWithDigest(pdfBytes, "contracts/", fileName);
+        String filePath = uploaded.key();
+        String hashValue = uploaded.sha256Hex();
 
         // PDF 무결성 검증을 위한 해시값 암호화 (sellerId, buyerId 사용)
         String encryptedHash;
@@ -641,6 +651,9 @@ public class ContractService {
         // Contract 엔티티 생성 및 저장
         Contract contract = new Contract(filePath, sellerId, buyerId, roomId, encryptedHash);
         Contract savedContract = contractRepository.save(contract);
+        // 같은 ID로 캐시된 이전 PDF가 남지 않도록 무효화
+        contractPdfCache.evict(savedContract.getId());
+        contractPdfUrlCache.evict(savedContract.getId());
 
         Optional<ContractData> contractDataOptional = contractDataRepository.findByRoomIdAndSellerIdAndBuyerId(roomId, sellerId, buyerId);
         contractDataOptional.ifPresent(cd -> {
@@ -848,13 +861,12 @@ public class ContractService {
 
 
     private ContractParticipants getAndVerifyParticipants(String roomId, Long currentUserId) {
-        Long productId = chatRoomRepository.findProductIdByRoomId(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 roomId에 대한 productId가 없습니다. roomId=" + roomId)); // (상수 사용 권장)
+        RoomParticipants room = roomParticipantResolver.resolve(roomId);
+        Long productId = room.productId();
 
         Product product = productService.findById(productId);
         Long sellerId = product.getMemberId();
-        Long buyerId = chatRoomRepository.findBuyerIdByRoomId(roomId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 roomId에 대한 buyerId가 없습니다. roomId=" + roomId)); // (상수 사용 권장)
+        Long buyerId = room.buyerId();
 
         // [복잡도 원인 1] if && 연산자
         if (!currentUserId.equals(sellerId) && !currentUserId.equals(buyerId)) {
@@ -870,15 +882,92 @@ public class ContractService {
         Contract contract = contractRepository.findByRoomId(p.roomId())
                 .orElseThrow(() -> new IllegalStateException("완료된 계약서 정보를 찾을 수 없습니다. (RoomId: " + p.roomId() + ")"));
 
-        byte[] pdfBytes = s3UploadService.downloadFile(contract.getFilePath());
-
-        verifyContractIntegrity(contract, pdfBytes);
+        byte[] pdfBytes = loadVerifiedPdf(contract);
 
         recordDealTracking(contract, "READ_BOTH_SIGN", deviceInfo); // PDF 조회 추적
         return new GetContractResponse(status, pdfBytes); // PDF 반환
     }
 
-    private void verifyContractIntegrity(Contract contract, byte[] pdfBytes) {
+    /**
+     * 서명 완료된 계약서 PDF를 앱 서버를 거치지 않고 받을 수 있는 Pre-signed URL 반환
+     * 무결성 검증은 계약서별로 한 번만 수행하고, URL은 만료 직전까지 재사용합니다.
+     */
+    @Transactional(readOnly = true, transactionManager = "contractTransactionManager")
+    public S3UploadService.PresignedUrl getCompletedContractPdfUrl(String roomId, String deviceInfo) {
+        Contract contract = findCompletedContract(roomId);
+
+        if (!contractPdfCache.isVerified(contract)) {
+            loadVerifiedPdf(contract);
+        }
+        S3UploadService.PresignedUrl url = contractPdfUrlCache.get(contract, "contract_" + roomId + ".pdf");
+
+        recordDealTracking(contract, "READ_BOTH_SIGN", deviceInfo); // PDF 조회 추적
+        return url;
+    }
+
+    /**
+     * 서명 완료된 계약서 PDF 본문 반환 (앱 서버 경유)
+     * 캐시에 있으면 바이트로, 검증만 끝난 큰 PDF는 검증한 객체(ETag)와 같은지 확인하며 S3 스트림으로 반환합니다.
+     *
+     * @param range HTTP Range 값 (S3 스트림일 때만 S3에 전달, null이면 전체)
+     */
+    @Transactional(readOnly = true, transactionManager = "contractTransactionManager")
+    public ContractPdfContent getCompletedContractPdfContent(String roomId, String deviceInfo, String range) {
+        Contract contract = findCompletedContract(roomId);
+        ContractPdfContent content = openVerifiedPdf(contract, range);
+
+        recordDealTracking(contract, "READ_BOTH_SIGN", deviceInfo); // PDF 조회 추적
+        return content;
+    }
+
+    private ContractPdfContent openVerifiedPdf(Contract contract, String range) {
+        Optional<byte[]> cached = contractPdfCache.get(contract);
+        if (cached.isPresent()) {
+            return new ContractPdfContent(cached.get(), null);
+        }
+        Optional<String> eTag = contractPdfCache.verifiedETag(contract);
+        if (eTag.isPresent()) {
+            try {
+                return new ContractPdfContent(null, s3UploadService.openStream(contract.getFilePath(), range, eTag.get()));
+            } catch (IllegalStateException e) {
+                // 검증 이후 S3 객체가 바뀜 -> 검증 기록을 버리고 다시 검증
+                log.warn("검증된 계약서 PDF가 S3에서 변경됨, 재검증합니다. (ContractId: {})", contract.getId());
+                contractPdfCache.evict(contract.getId());
+                contractPdfUrlCache.evict(contract.getId());
+            }
+        }
+        return new ContractPdfContent(loadVerifiedPdf(contract), null);
+    }
+
+    // 인가 확인 후 서명 완료 상태인 계약서 레코드 조회
+    private Contract findCompletedContract(String roomId) {
+        Long currentUserId = getCurrentUserIdFromSecurityContext();
+        ContractParticipants participants = getAndVerifyParticipants(roomId, currentUserId);
+
+        SignTable signTable = signRepository.findByRoomIdAndProductId(roomId, participants.productId())
+                .orElseThrow(() -> new IllegalStateException("계약서의 서명 상태 정보를 찾을 수 없습니다. (RoomId: " + roomId + ")"));
+        if (signTable.getStatus() != SignTable.SignStatus.COMPLETED) {
+            throw new IllegalStateException("서명이 완료된 계약서가 아닙니다. (RoomId: " + roomId + ")");
+        }
+
+        return contractRepository.findByRoomId(roomId)
+                .orElseThrow(() -> new IllegalStateException("완료된 계약서 정보를 찾을 수 없습니다. (RoomId: " + roomId + ")"));
+    }
+
+    // 완료된 계약서는 변경되지 않으므로 검증을 마친 PDF는 캐시에서 바로 반환 (S3 GET, 해시 재계산 생략)
+    private byte[] loadVerifiedPdf(Contract contract) {
+        return contractPdfCache.get(contract).orElseGet(() -> {
+            S3UploadService.FileDownloadResult downloaded = s3UploadService.downloadFileWithContentType(contract.getFilePath());
+            String verifiedHash = verifyContractIntegrity(contract, downloaded.getFileBytes());
+            contractPdfCache.put(contract, downloaded.getFileBytes(), verifiedHash, downloaded.getETag());
+            return downloaded.getFileBytes();
+        });
+    }
+
+    /**
+     * @return 검증에 사용한 PDF 해시 (암호화 해시가 없는 계약서는 검증하지 않으므로 null)
+     */
+    private String verifyContractIntegrity(Contract contract, byte[] pdfBytes) {
         if (contract.getEncryptedHash() != null && !contract.getEncryptedHash().isBlank()) {
             try {
                 String decryptedHash = encryptionUtil.decryptHashWithIds(
@@ -892,6 +981,7 @@ public class ContractService {
                     log.warn("계약서 무결성 검증 실패! (ContractId: {})", contract.getId());
                     throw new IllegalArgumentException("계약서 파일의 무결성 검증에 실패했습니다. 파일이 변조되었을 수 있습니다.");
                 }
+                return currentHash;
             } catch (IllegalArgumentException e) {
                 throw e; // 특정 예외는 그대로 다시 던짐
             } catch (Exception e) {
@@ -899,16 +989,16 @@ public class ContractService {
                 throw new RuntimeException("해시값 검증 중 오류가 발생했습니다: " + e.getMessage(), e);
             }
         }
+        return null;
     }
 
     private GetContractResponse getDraftContractJson(ContractParticipants p, String deviceInfo, SignTable.SignStatus status) {
         ContractData contractData = contractDataRepository.findByRoomId(p.roomId())
                 .orElseThrow(() -> new IllegalStateException("작성 중인 계약서 데이터를 찾을 수 없습니다. (RoomId: " + p.roomId() + ")"));
 
-        String encryptedJson = contractData.getContractJsonData();
         String decryptedJson;
         try {
-            decryptedJson = encryptionUtil.decryptString(encryptedJson);
+            decryptedJson = contractDataCipher.decrypt(contractData);
         } catch (Exception e) {
             log.error("계약서(JSON) 복호화 실패 (RoomId: {}): {}", p.roomId(), e.getMessage(), e);
             throw new RuntimeException("계약서 데이터를 처리하는 중 오류가 발생했습니다.", e);
@@ -920,6 +1010,13 @@ public class ContractService {
         String summary = getSummaryofContract(decryptedJson);
         return new GetContractResponse(status, decryptedJson, summary); // JSON 반환
     }
+    /**
+     * 완료된 계약서 PDF 본문. 캐시된 바이트(bytes) 또는 열린 S3 스트림(stream) 중 하나만 채워짐
+     * stream은 응답으로 복사한 뒤 호출한 쪽에서 닫아야 합니다.
+     */
+    public record ContractPdfContent(byte[] bytes, S3UploadService.ObjectStream stream) {
+    }
+
     /**
      * Contract와 PDF 파일 정보를 담는 결과 클래스, 일반 json도 할 수 있게
      */
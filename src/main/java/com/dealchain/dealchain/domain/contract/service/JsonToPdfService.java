@@ -1,14 +1,15 @@
 package com.dealchain.dealchain.domain.contract.service;
 
-import com.dealchain.dealchain.domain.security.S3UploadService;
+import com.dealchain.dealchain.domain.member.SignatureImageCache;
 import com.dealchain.dealchain.domain.security.XssSanitizer;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType0Font;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.slf4j.Logger;
@@ -17,12 +18,13 @@ import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
-import java.io.FileOutputStream;
-
 @Service
 public class JsonToPdfService {
 
@@ -30,31 +32,71 @@ public class JsonToPdfService {
 
     private final XssSanitizer xssSanitizer;
     private final ObjectMapper objectMapper;
-    private final S3UploadService s3UploadService;
-    private PDType0Font nanumGothicFont;
+    private final SignatureImageCache signatureImageCache;
+    // 폰트 파일 내용 (한 번만 읽어 둠, 문서에는 사용한 글리프만 서브셋으로 임베드)
+    private byte[] fontBytes;
+    // 파싱된 TrueTypeFont는 글리프 테이블을 지연 로딩하므로 스레드 간에 공유하지 않고 렌더링 스레드마다 한 번만 파싱
+    // (렌더링은 pdf.render.threads 크기의 고정 풀에서만 실행되므로 스레드 수만큼만 생성됨)
+    private final ThreadLocal<TrueTypeFont> threadFont = ThreadLocal.withInitial(() -> {
+        try {
+            return parseFont(fontBytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException("PDF 한글 폰트 파싱 실패", e);
+        }
+    });
     private static final Logger log = LoggerFactory.getLogger(JsonToPdfService.class);
 
-    // A4 페이지 크기 (pt)
-    private static final float PAGE_WIDTH = PDRectangle.A4.getWidth();
-    private static final float MARGIN_X = 70;
-    private static final float MARGIN_TOP = 780; // (페이지 상단 Y 좌표)
+    private static final float MARGIN_X = PdfPageWriter.MARGIN_X;
+    // 서명란(이름, 서명 이미지)이 차지하는 영역의 상단 Y 좌표
+    private static final float SIGNATURE_AREA_TOP = 240;
+
+    private static final String TITLE = "자동 생성 계약서 (초안)";
+
+    /**
+     * 계약서 템플릿: 고정 문구(섹션 제목, 항목 라벨)와 JSON 경로만 정의하고, 렌더링 시 값만 채웁니다.
+     */
+    private static final List<Section> TEMPLATE = List.of(
+            new Section("1. 거래 당사자", List.of(
+                    new Field(" - 판매자 (갑): ", "", "parties", "seller", "name"),
+                    new Field(" - 구매자 (을): ", "", "parties", "buyer", "name"))),
+            new Section("2. 거래 물품", List.of(
+                    new Field(" - 물품명: ", "", "item_details", "name"),
+                    new Field(" - 물품상태: ", "", "item_details", "condition_and_info"))),
+            new Section("3. 거래 대금", List.of(
+                    new Field(" - 가격: ", " 원", "payment", "price"),
+                    new Field(" - 지급방식: ", "", "payment", "payment_method"))),
+            new Section("4. 거래 방법", List.of(
+                    new Field(" - 방식: ", "", "delivery", "method"),
+                    new Field(" - 시간: ", "", "delivery", "schedule"),
+                    new Field(" - 장소: ", "", "delivery", "location"))),
+            new Section("5. 청약 철회 및 계약 해제", List.of(
+                    new Field(" - ", "", "cancellation_policy", "details"))),
+            new Section("6. 교환·반품·보증 및 환불", List.of(
+                    new Field(" - ", "", "refund_policy", "details"))),
+            new Section("7. 소비자 피해보상 및 불만 처리", List.of(
+                    new Field(" - ", "", "dispute_resolution", "details"))),
+            new Section("8. 기타 거래 조건", List.of(
+                    new Field(" - 기술 사양: ", "", "other_terms", "technical_specs"),
+                    new Field(" - 일반 조건: ", "", "other_terms", "general_terms")))
+    );
 
     public JsonToPdfService(XssSanitizer xssSanitizer,
                             ObjectMapper objectMapper,
-                            S3UploadService s3UploadService) {
+                            SignatureImageCache signatureImageCache) {
         this.xssSanitizer = xssSanitizer;
         this.objectMapper = objectMapper;
-        this.s3UploadService = s3UploadService;
+        this.signatureImageCache = signatureImageCache;
     }
 
     /**
-     * 폰트 로드
+     * 폰트 로드 (애플리케이션 시작 시 한 번 읽고, 올바른 폰트인지 파싱해 확인)
      */
     @PostConstruct
     public void loadFont() {
         try (InputStream fontStream = new ClassPathResource("fonts/Font.ttf").getInputStream()) {
-            try (PDDocument tempDoc = new PDDocument()) {
-                this.nanumGothicFont = PDType0Font.load(tempDoc, fontStream);
+            byte[] bytes = fontStream.readAllBytes();
+            try (TrueTypeFont ignored = parseFont(bytes)) {
+                this.fontBytes = bytes;
             }
         } catch (Exception e) {
             log.error("치명적 오류: PDF 한글 폰트(Font.ttf) 로드에 실패했습니다.", e);
@@ -62,6 +104,10 @@ public class JsonToPdfService {
         }
     }
 
+    private static TrueTypeFont parseFont(byte[] bytes) throws IOException {
+        return new TTFParser().parse(new RandomAccessReadBuffer(bytes));
+    }
+
     /**
      * JSON과 2개의 S3 서명 키로 PDF를 생성
      *
@@ -86,76 +132,35 @@ public class JsonToPdfService {
         try (PDDocument document = new PDDocument();
              ByteArrayOutputStream out = new ByteArrayOutputStream()) {
 
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
+            // 문서에는 사용한 글리프만 서브셋으로 임베드됨 (저장 시, 스레드의 폰트는 닫지 않고 다음 렌더링에 재사용)
+            PDType0Font font = PDType0Font.load(document, threadFont.get(), true);
 
-            try (PDPageContentStream stream = new PDPageContentStream(document, page)) {
+            try (PdfPageWriter writer = new PdfPageWriter(document, font)) {
 
-                drawText(stream, "자동 생성 계약서 (초안)", (PAGE_WIDTH - 180) / 2, MARGIN_TOP, 20);
+                writer.title(TITLE, 20, 60);
 
-                float currentY = MARGIN_TOP - 60;
+                for (int i = 0; i < TEMPLATE.size(); i++) {
+                    Section section = TEMPLATE.get(i);
+                    writer.section(section.title(), i == 0 ? 0 : 10);
+                    for (Field field : section.fields()) {
+                        writer.paragraph(field.render(this, contractMap));
+                    }
+                }
 
-                // AI JSON 데이터 추출 (Null-Safe)
+                // 서명란은 마지막 페이지 하단에 고정 (본문이 서명란까지 내려왔으면 새 페이지에)
+                writer.reserveBottom(SIGNATURE_AREA_TOP);
                 Map<String, Object> parties = getMap(contractMap, "parties");
-                Map<String, Object> item = getMap(contractMap, "item_details");
-                Map<String, Object> payment = getMap(contractMap, "payment");
-                Map<String, Object> deal = getMap(contractMap, "delivery");
-                Map<String, Object> otherTerms = getMap(contractMap, "other_terms");
-                Map<String, Object> cancellationPolicy = getMap(contractMap, "cancellation_policy"); //  cancellation_policy 추출
-                Map<String, Object> refundPolicy = getMap(contractMap, "refund_policy"); // refund_policy 추출
-                Map<String, Object> disputeResolution = getMap(contractMap, "dispute_resolution"); // dispute_resolution 추출
-
-                currentY = drawSection(stream, "1. 거래 당사자", currentY);
-                currentY = drawTextLine(stream, " - 판매자 (갑): " + getString(getMap(parties, "seller"), "name"), currentY);
-                currentY = drawTextLine(stream, " - 구매자 (을): " + getString(getMap(parties, "buyer"), "name"), currentY);
-
-                currentY = drawSection(stream, "2. 거래 물품", currentY - 10);
-                currentY = drawTextLine(stream, " - 물품명: " + getString(item, "name"), currentY);
-                currentY = drawTextLine(stream, " - 물품상태: " + getString(item, "condition_and_info"), currentY);
-
-                currentY = drawSection(stream, "3. 거래 대금", currentY - 10);
-                currentY = drawTextLine(stream, " - 가격: " + getString(payment, "price") + " 원", currentY);
-                currentY = drawTextLine(stream, " - 지급방식: " + getString(payment, "payment_method"), currentY);
-
-                currentY = drawSection(stream, "4. 거래 방법", currentY - 10);
-                currentY = drawTextLine(stream, " - 방식: " + getString(deal, "method"), currentY);
-                currentY = drawTextLine(stream, " - 시간: " + getString(deal, "schedule"), currentY);
-                currentY = drawTextLine(stream, " - 장소: " + getString(deal, "location"), currentY);
-
-                //  5. 청약 철회 (cancellation_policy) 섹션 추가
-                currentY = drawSection(stream, "5. 청약 철회 및 계약 해제", currentY - 10);
-                currentY = drawTextLine(stream, " - " + getString(cancellationPolicy, "details"), currentY);
-
-                //6. 환불 정책 (refund_policy) 섹션 추가
-                currentY = drawSection(stream, "6. 교환·반품·보증 및 환불", currentY - 10);
-                currentY = drawTextLine(stream, " - " + getString(refundPolicy, "details"), currentY);
-
-                // 7. 분쟁 해결 (dispute_resolution) 섹션 추가
-                currentY = drawSection(stream, "7. 소비자 피해보상 및 불만 처리", currentY - 10);
-                currentY = drawTextLine(stream, " - " + getString(disputeResolution, "details"), currentY);
-
-                // 섹션 번호 변경 "5." -> "8."
-                currentY = drawSection(stream, "8. 기타 거래 조건", currentY - 10);
-                String techSpecs = getString(otherTerms, "technical_specs");
-                String generalTerms = getString(otherTerms, "general_terms");
-                currentY = drawTextLine(stream, " - 기술 사양: " + techSpecs, currentY);
-                currentY = drawTextLine(stream, " - 일반 조건: " + generalTerms, currentY);
-
 
                 // 판매자 서명 (왼쪽 하단)
                 float sellerSignY = 150;
                 String sellerText = "판매자 (갑): " + getString(getMap(parties, "seller"), "name");
-                drawText(stream, sellerText, MARGIN_X, sellerSignY, 12);
-                drawText(stream, "----------------", MARGIN_X, sellerSignY + 7, 12);
-                drawImageFromS3(document, stream, sellerSignatureKey, MARGIN_X, sellerSignY + 20);
+                drawSignatureBlock(document, writer, sellerText, sellerSignatureKey, MARGIN_X, sellerSignY);
 
                 // 구매자 서명 (오른쪽 하단)
                 float buyerSignX = MARGIN_X + 280;
                 float buyerSignY = 150;
                 String buyerText = "구매자 (을): " + getString(getMap(parties, "buyer"), "name");
-                drawText(stream, buyerText, buyerSignX, buyerSignY, 12);
-                drawText(stream, "----------------", buyerSignX, buyerSignY + 7, 12);
-                drawImageFromS3(document, stream, buyerSignatureKey, buyerSignX, buyerSignY + 20);
+                drawSignatureBlock(document, writer, buyerText, buyerSignatureKey, buyerSignX, buyerSignY);
 
             }
 
@@ -165,16 +170,26 @@ public class JsonToPdfService {
     }
 
     /**
-     * S3에서 이미지를 다운로드하여 PDF의 (x, y) 좌표에 그리기
+     * 서명란: 이름, 서명선, 서명 이미지
+     */
+    private void drawSignatureBlock(PDDocument document, PdfPageWriter writer, String name, String s3Key,
+                                    float x, float y) throws IOException {
+        writer.textAt(name, x, y, 12);
+        writer.textAt("----------------", x, y + 7, 12);
+        drawSignature(document, writer.stream(), s3Key, x, y + 20);
+    }
+
+    /**
+     * 서명 이미지를 PDF의 (x, y) 좌표에 그리기 (캐시에 없을 때만 S3에서 다운로드)
      */
-    private void drawImageFromS3(PDDocument document, PDPageContentStream stream, String s3Key, float x, float y) {
+    private void drawSignature(PDDocument document, PDPageContentStream stream, String s3Key, float x, float y) {
         if (s3Key == null || s3Key.isEmpty()) {
             return;
         }
         try {
-            // S3UploadService를 통해 신뢰할 수 있는 버킷에서 이미지 다운로드
-            byte[] imageBytes = s3UploadService.downloadFile(s3Key);
-            PDImageXObject pdImage = PDImageXObject.createFromByteArray(document, imageBytes, s3Key);
+            // 신뢰할 수 있는 버킷의 서명을 축소/인코딩해 둔 바이트 사용 (JPEG는 재압축 없이 그대로 삽입)
+            byte[] signature = signatureImageCache.get(s3Key);
+            PDImageXObject pdImage = PDImageXObject.createFromByteArray(document, signature, s3Key);
             stream.drawImage(pdImage, x, y, 95, 50);
 
         } catch (Exception e) {
@@ -205,40 +220,6 @@ public class JsonToPdfService {
     }
 
 
-    /**
-     * PDF에 텍스트를 그리기
-     */
-    private void drawText(PDPageContentStream stream, String text, float x, float y, float fontSize) throws Exception {
-        if (text == null) {
-            text = "(정보 없음)";
-        }
-        stream.beginText();
-        stream.setFont(this.nanumGothicFont, fontSize);
-        stream.newLineAtOffset(x, y);
-        stream.showText(text);
-        stream.endText();
-    }
-
-    /**
-     * PDF에 한 줄의 텍스트를 그리고 Y 좌표를 업데이트
-     */
-    private float drawTextLine(PDPageContentStream stream, String text, float y) throws Exception {
-        float fontSize = 11;
-        float leading = 16; // 줄 간격
-        drawText(stream, text, MARGIN_X, y, fontSize);
-        return y - leading;
-    }
-
-    /**
-     * PDF에 섹션 제목을 그리기
-     */
-    private float drawSection(PDPageContentStream stream, String text, float y) throws Exception {
-        float fontSize = 14;
-        float leading = 20;
-        drawText(stream, text, MARGIN_X, y, fontSize);
-        return y - leading;
-    }
-
     /**
      * Map에서 값을 String으로 안전하게 추출 (Null-Safe)
      * null이면 "(정보 없음)" 반환
@@ -267,4 +248,21 @@ public class JsonToPdfService {
         }
         return Collections.emptyMap();
     }
-}
\ No newline at end of file
+
+    private record Section(String title, List<Field> fields) {
+    }
+
+    /**
+     * 템플릿의 한 줄: 고정 라벨 + JSON 경로의 값 + 접미사
+     */
+    private record Field(String label, String suffix, String... path) {
+
+        String render(JsonToPdfService service, Map<String, Object> contractMap) {
+            Map<String, Object> map = contractMap;
+            for (int i = 0; i < path.length - 1; i++) {
+                map = service.getMap(map, path[i]);
+            }
+            return label + service.getString(map, path[path.length - 1]) + suffix;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.dealchain.dealchain.domain.contract.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 계약서 PDF를 위에서 아래로 한 번에 써 내려가는 간단한 레이아웃 엔진.
+ * 폰트로 실제 폭을 측정해 줄바꿈하고, 남은 공간이 부족하면 새 페이지를 엽니다.
+ * 페이지를 넘길 때 이전 페이지의 콘텐츠 스트림을 바로 닫으므로 문서 전체를 미리 구성하지 않습니다.
+ */
+class PdfPageWriter implements AutoCloseable {
+
+    static final float PAGE_WIDTH = PDRectangle.A4.getWidth();
+    static final float MARGIN_X = 70;
+    static final float MARGIN_TOP = 780; // (페이지 상단 Y 좌표)
+    static final float MARGIN_BOTTOM = 60;
+
+    private static final float LINE_FONT_SIZE = 11;
+    private static final float LINE_LEADING = 16; // 줄 간격
+    private static final float SECTION_FONT_SIZE = 14;
+    private static final float SECTION_LEADING = 20;
+    private static final float CONTINUATION_INDENT = 12; // 줄바꿈된 다음 줄 들여쓰기
+    private static final float PAGE_NUMBER_FONT_SIZE = 9;
+    private static final String MISSING_GLYPH = "?";
+
+    private final PDDocument document;
+    private final PDType0Font font;
+    private PDPageContentStream stream;
+    private int pageNumber;
+    private float y;
+
+    PdfPageWriter(PDDocument document, PDType0Font font) throws IOException {
+        this.document = document;
+        this.font = font;
+        newPage();
+    }
+
+    PDPageContentStream stream() {
+        return stream;
+    }
+
+    /**
+     * 가운데 정렬 제목
+     */
+    void title(String text, float fontSize, float spacingAfter) throws IOException {
+        String safe = printable(text);
+        float width = width(safe, fontSize);
+        drawText(safe, (PAGE_WIDTH - width) / 2, y, fontSize);
+        y -= spacingAfter;
+    }
+
+    /**
+     * 섹션 제목. 제목만 페이지 끝에 남지 않도록 첫 줄이 들어갈 공간까지 확인합니다.
+     */
+    void section(String text, float spacingBefore) throws IOException {
+        y -= spacingBefore;
+        ensureSpace(SECTION_LEADING + LINE_LEADING);
+        drawText(printable(text), MARGIN_X, y, SECTION_FONT_SIZE);
+        y -= SECTION_LEADING;
+    }
+
+    /**
+     * 본문 한 항목. 폭을 넘으면 줄바꿈하고 필요하면 페이지를 넘깁니다.
+     */
+    void paragraph(String text) throws IOException {
+        float maxWidth = PAGE_WIDTH - MARGIN_X * 2;
+        List<String> lines = wrap(printable(text), LINE_FONT_SIZE, maxWidth, maxWidth - CONTINUATION_INDENT);
+        for (int i = 0; i < lines.size(); i++) {
+            ensureSpace(LINE_LEADING);
+            drawText(lines.get(i), i == 0 ? MARGIN_X : MARGIN_X + CONTINUATION_INDENT, y, LINE_FONT_SIZE);
+            y -= LINE_LEADING;
+        }
+    }
+
+    /**
+     * 마지막 페이지 하단의 고정 영역(서명란 등) 위까지 본문이 내려왔으면 새 페이지를 엽니다.
+     */
+    void reserveBottom(float areaTop) throws IOException {
+        if (y < areaTop) {
+            newPage();
+        }
+    }
+
+    /**
+     * 지정한 좌표에 한 줄 그리기 (줄바꿈 없음)
+     */
+    void textAt(String text, float x, float baseline, float fontSize) throws IOException {
+        drawText(printable(text).replace('\n', ' '), x, baseline, fontSize);
+    }
+
+    private void drawText(String text, float x, float baseline, float fontSize) throws IOException {
+        stream.beginText();
+        stream.setFont(font, fontSize);
+        stream.newLineAtOffset(x, baseline);
+        stream.showText(text);
+        stream.endText();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    private void ensureSpace(float height) throws IOException {
+        if (y - height < MARGIN_BOTTOM) {
+            newPage();
+        }
+    }
+
+    private void newPage() throws IOException {
+        close();
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        stream = new PDPageContentStream(document, page);
+        pageNumber++;
+        y = MARGIN_TOP;
+
+        String number = "- " + pageNumber + " -";
+        drawText(number, (PAGE_WIDTH - width(number, PAGE_NUMBER_FONT_SIZE)) / 2, MARGIN_BOTTOM / 2, PAGE_NUMBER_FONT_SIZE);
+    }
+
+    /**
+     * 측정 기반 줄바꿈. 공백이 있으면 마지막 공백에서, 없으면(한글 연속 등) 글자 단위로 나눕니다.
+     * 원문의 줄바꿈은 그대로 유지합니다.
+     */
+    private List<String> wrap(String text, float fontSize, float firstWidth, float restWidth) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String paragraph : text.split("\n", -1)) {
+            StringBuilder line = new StringBuilder();
+            float lineWidth = 0;
+            int offset = 0;
+            while (offset < paragraph.length()) {
+                int codePoint = paragraph.codePointAt(offset);
+                String ch = new String(Character.toChars(codePoint));
+                offset += ch.length();
+
+                float chWidth = width(ch, fontSize);
+                float limit = lines.isEmpty() ? firstWidth : restWidth;
+                if (lineWidth + chWidth <= limit || line.length() == 0) {
+                    line.append(ch);
+                    lineWidth += chWidth;
+                    continue;
+                }
+
+                int lastSpace = line.lastIndexOf(" ");
+                if (lastSpace > 0 && !ch.equals(" ")) {
+                    lines.add(line.substring(0, lastSpace));
+                    String carry = line.substring(lastSpace + 1) + ch;
+                    line.setLength(0);
+                    line.append(carry);
+                    lineWidth = width(carry, fontSize);
+                } else {
+                    lines.add(line.toString());
+                    line.setLength(0);
+                    // 줄 앞의 공백은 버림
+                    lineWidth = 0;
+                    if (!ch.equals(" ")) {
+                        line.append(ch);
+                        lineWidth = chWidth;
+                    }
+                }
+            }
+            lines.add(line.toString());
+        }
+        return lines;
+    }
+
+    private float width(String text, float fontSize) throws IOException {
+        return font.getStringWidth(text) / 1000 * fontSize;
+    }
+
+    /**
+     * 폰트에 없는 글자와 제어 문자를 치환 (showText 예외로 PDF 생성이 실패하지 않도록)
+     */
+    private String printable(String text) {
+        if (text == null) {
+            return "(정보 없음)";
+        }
+        String normalized = text.replace("\r\n", "\n").replace('\r', '\n').replace('\t', ' ');
+        StringBuilder sb = new StringBuilder(normalized.length());
+        normalized.codePoints().forEach(codePoint -> {
+            if (codePoint == '\n') {
+                sb.append('\n');
+                return;
+            }
+            if (Character.isISOControl(codePoint)) {
+                return;
+            }
+            String ch = new String(Character.toChars(codePoint));
+            try {
+                font.encode(ch);
+                sb.append(ch);
+            } catch (IOException | IllegalArgumentException e) {
+                sb.append(MISSING_GLYPH);
+            }
+        });
+        return sb.toString();
+    }
+}
@@ -0,0 +1,20 @@
+package com.dealchain.dealchain.domain.contract.service;
+
+import java.time.Duration;
+
+/**
+ * PDF 렌더링 실행기가 포화 상태(큐 또는 메모리 예산 초과)라 작업을 받지 못한 경우.
+ * retryAfter 이후에 다시 시도하면 됩니다.
+ */
+public class PdfRenderRejectedException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public PdfRenderRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
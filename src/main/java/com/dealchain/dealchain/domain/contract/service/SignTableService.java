@@ -1,6 +1,6 @@
 package com.dealchain.dealchain.domain.contract.service;
 
-import com.dealchain.dealchain.domain.chat.repository.ChatRoomRepository;
+import com.dealchain.dealchain.domain.chat.service.RoomParticipantResolver;
 import com.dealchain.dealchain.domain.contract.entity.SignTable;
 import com.dealchain.dealchain.domain.contract.repository.SignRepository;
 import com.dealchain.dealchain.domain.product.Product;
@@ -17,13 +17,13 @@ public class SignTableService {
 
 
     private final SignRepository signRepository;
-    private final ChatRoomRepository chatRoomRepository;
+    private final RoomParticipantResolver roomParticipantResolver;
 
     @Autowired
     public SignTableService(SignRepository signRepository,
-                            ChatRoomRepository chatRoomRepository) {
+                            RoomParticipantResolver roomParticipantResolver) {
         this.signRepository = signRepository;
-        this.chatRoomRepository = chatRoomRepository;
+        this.roomParticipantResolver = roomParticipantResolver;
     }
 
 
@@ -36,7 +36,8 @@ public class SignTableService {
             return null;
         }
 
-        Long productId = chatRoomRepository.findProductIdByRoomId(roomId)
+        Long productId = roomParticipantResolver.find(roomId)
+                .map(RoomParticipantResolver.RoomParticipants::productId)
                 .orElse(null);
 
         if (productId == null) {
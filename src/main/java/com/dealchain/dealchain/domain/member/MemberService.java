@@ -10,6 +10,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.ResourceAccessException;
@@ -19,6 +21,8 @@ import org.springframework.web.multipart.MultipartFile;
 import java.security.SecureRandom;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @Transactional(transactionManager = "memberTransactionManager")
@@ -29,15 +33,18 @@ public class MemberService {
     private final MemberRepository memberRepository;
     private final PasswordEncoder passwordEncoder;
     private final S3UploadService s3UploadService;
+    private final SignatureImageCache signatureImageCache;
     private final RestTemplate restTemplate;
     
     @Value("${verify.api.url}")
     private String verifyApiUrl;
 
-    public MemberService(MemberRepository memberRepository, PasswordEncoder passwordEncoder, S3UploadService s3UploadService) {
+    public MemberService(MemberRepository memberRepository, PasswordEncoder passwordEncoder, S3UploadService s3UploadService,
+                         SignatureImageCache signatureImageCache) {
         this.memberRepository = memberRepository;
         this.passwordEncoder = passwordEncoder;
         this.s3UploadService = s3UploadService;
+        this.signatureImageCache = signatureImageCache;
         this.restTemplate = new RestTemplate();
     }
 
@@ -120,18 +127,26 @@ public class MemberService {
                 throw new RuntimeException("토큰 검증 중 오류가 발생했습니다.");
             }
 
-            // 비밀번호 암호화
-            String encodedPassword = passwordEncoder.encode(password);
-
-            // signatureFile이 제공되면 유효성 검사 및 S3 업로드
-            String signatureUrl = null;
+            // signatureFile이 제공되면 유효성 검사 후 S3 업로드 시작 (비밀번호 암호화와 동시에 진행)
+            CompletableFuture<S3UploadService.UploadResult> signatureUpload = null;
             if (signatureFile != null && !signatureFile.isEmpty()) {
-                signatureUrl = s3UploadService.upload(signatureFile, "signatures");
+                signatureUpload = s3UploadService.uploadAsync(signatureFile, "signatures");
+                releaseSignatureUnlessCommitted(signatureUpload);
             }
 
+            // 비밀번호 암호화
+            String encodedPassword = passwordEncoder.encode(password);
+
             // 랜덤 memberId 생성
             Long randomMemberId = generateRandomMemberId();
 
+            String signatureUrl = null;
+            if (signatureUpload != null) {
+                signatureUrl = awaitUpload(signatureUpload).key();
+                // 계약서 PDF 생성 시 S3에서 다시 받지 않도록 미리 캐시
+                signatureImageCache.warm(signatureUrl, signatureFile.getBytes());
+            }
+
             // id, password, name, ci, signatureImage 저장
             Member member = new Member(id, encodedPassword, name, ci, signatureUrl);
             member.setMemberId(randomMemberId);  // 랜덤 ID 설정
@@ -147,6 +162,41 @@ public class MemberService {
     }
 
 
+    // 회원 저장이 커밋되지 않으면(이후 단계 예외, 저장/커밋 실패) 업로드로 추가된 서명 참조를 해제
+    // 업로드가 아직 진행 중이어도 완료된 뒤 해제 (업로드 자체가 실패했으면 해제할 참조가 없음)
+    private void releaseSignatureUnlessCommitted(CompletableFuture<S3UploadService.UploadResult> upload) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                upload.thenAccept(result -> {
+                    try {
+                        s3UploadService.deleteFile(result.key());
+                    } catch (RuntimeException e) {
+                        log.warn("회원가입 실패 후 서명 참조 해제 실패. Key: {}, Error: {}", result.key(), e.getMessage());
+                    }
+                });
+            }
+        });
+    }
+
+    // 비동기 업로드 완료 대기 (업로드 예외는 그대로 전달)
+    private S3UploadService.UploadResult awaitUpload(CompletableFuture<S3UploadService.UploadResult> upload) {
+        try {
+            return upload.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
     // 로그인 (id, password로 회원 찾기)
     @Transactional(readOnly = true, transactionManager = "memberTransactionManager")
     public Member login(String id, String password) {
@@ -0,0 +1,176 @@
+package com.dealchain.dealchain.domain.member;
+
+import com.dealchain.dealchain.domain.security.S3UploadService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * 회원 서명 이미지 캐시. (S3 키 + ETag 기준)
+ * 서명란 크기 이내의 JPEG/PNG는 원본 바이트 그대로, 그보다 크거나 다른 형식이면 축소해 다시 인코딩한 바이트를 보관합니다.
+ * PDF에는 이 바이트로 이미지를 만들므로(JPEG는 그대로 삽입) 계약서 PDF 생성 시 S3 GET과 디코딩/재압축을 반복하지 않습니다.
+ * 서명 키는 업로드마다 새로 만들어지므로 기본적으로 ETag 재확인(HEAD) 없이 사용합니다.
+ */
+@Component
+public class SignatureImageCache {
+    private static final Logger log = LoggerFactory.getLogger(SignatureImageCache.class);
+
+    private final S3UploadService s3UploadService;
+    private final Cache<String, Entry> images;
+    private final Counter hits;
+    private final Counter misses;
+
+    // true면 사용할 때마다 HEAD로 ETag를 비교 (같은 키를 덮어쓰는 경우 대비)
+    @Value("${signature.cache.revalidate:false}")
+    private boolean revalidate;
+
+    // 서명란(95x50pt)을 인쇄 품질로 그릴 수 있는 최대 크기 (px)
+    @Value("${signature.cache.max-width:380}")
+    private int maxWidth;
+
+    @Value("${signature.cache.max-height:200}")
+    private int maxHeight;
+
+    public SignatureImageCache(S3UploadService s3UploadService,
+                               MeterRegistry meterRegistry,
+                               @Value("${signature.cache.max-bytes:33554432}") long maxBytes,
+                               @Value("${signature.cache.expire-after-access-hours:24}") long expireHours) {
+        this.s3UploadService = s3UploadService;
+        this.images = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, Entry entry) -> entry.weight())
+                .expireAfterAccess(Duration.ofHours(expireHours))
+                .build();
+        this.hits = Counter.builder("signature.image.cache").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("signature.image.cache").tag("result", "miss").register(meterRegistry);
+    }
+
+    /**
+     * 서명 이미지의 인코딩된 바이트(JPEG 또는 PNG)를 반환합니다. 캐시에 없거나 ETag가 바뀌었으면 S3에서 내려받아 저장합니다.
+     */
+    public byte[] get(String s3Key) {
+        if (s3Key == null || s3Key.isEmpty()) {
+            throw new IllegalArgumentException("서명 이미지 키가 제공되지 않았습니다.");
+        }
+        Entry cached = images.getIfPresent(s3Key);
+        if (cached != null && (!revalidate || isCurrent(s3Key, cached))) {
+            hits.increment();
+            return cached.bytes();
+        }
+
+        misses.increment();
+        S3UploadService.FileDownloadResult downloaded = s3UploadService.downloadFileWithContentType(s3Key);
+        Entry entry = new Entry(downloaded.getETag(), normalize(s3Key, downloaded.getFileBytes()));
+        images.put(s3Key, entry);
+        return entry.bytes();
+    }
+
+    /**
+     * 회원가입 시 업로드한 서명 바이트로 미리 채움 (첫 계약서 생성 시 S3 GET 생략)
+     */
+    public void warm(String s3Key, byte[] imageBytes) {
+        if (s3Key == null || imageBytes == null || imageBytes.length == 0) {
+            return;
+        }
+        try {
+            // 업로드 직후라 ETag를 모르므로 null로 두고, 재확인 시 처음 조회한 ETag를 채택
+            images.put(s3Key, new Entry(null, normalize(s3Key, imageBytes)));
+        } catch (RuntimeException e) {
+            log.warn("서명 이미지 캐시 준비 실패 (PDF 생성 시 다시 조회됨). Key: {}, Error: {}", s3Key, e.getMessage());
+        }
+    }
+
+    public void evict(String s3Key) {
+        if (s3Key != null) {
+            images.invalidate(s3Key);
+        }
+    }
+
+    private boolean isCurrent(String s3Key, Entry cached) {
+        String eTag = s3UploadService.getETag(s3Key);
+        if (cached.eTag() == null) {
+            images.put(s3Key, new Entry(eTag, cached.bytes()));
+            return true;
+        }
+        return Objects.equals(cached.eTag(), eTag);
+    }
+
+    private static BufferedImage decode(String s3Key, byte[] imageBytes) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
+            if (image == null) {
+                throw new IllegalArgumentException("지원되지 않는 서명 이미지 형식입니다. Key: " + s3Key);
+            }
+            return image;
+        } catch (IOException e) {
+            throw new RuntimeException("서명 이미지를 읽는 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    // 서명란 크기 이내의 JPEG/PNG는 원본 그대로, 아니면 비율을 유지해 축소 후 재인코딩 (투명도가 있거나 JPEG가 아니면 PNG)
+    private byte[] normalize(String s3Key, byte[] imageBytes) {
+        BufferedImage source = decode(s3Key, imageBytes);
+        boolean jpeg = startsWith(imageBytes, 0xFF, 0xD8, 0xFF);
+        boolean png = startsWith(imageBytes, 0x89, 'P', 'N', 'G');
+        double scale = Math.min(1.0, Math.min((double) maxWidth / source.getWidth(), (double) maxHeight / source.getHeight()));
+        if (scale == 1.0 && (jpeg || png)) {
+            return imageBytes;
+        }
+
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage normalized = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = normalized.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            if (!ImageIO.write(normalized, jpeg && !alpha ? "jpg" : "png", out)) {
+                throw new IllegalStateException("서명 이미지 인코더를 찾을 수 없습니다.");
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("서명 이미지를 변환하는 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean startsWith(byte[] data, int... prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private record Entry(String eTag, byte[] bytes) {
+
+        int weight() {
+            return Math.max(1, bytes.length);
+        }
+    }
+}
@@ -6,7 +6,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // 회원별 목록 커서 페이지네이션 (전체 목록은 기본 키 역순으로 탐색)
+        @Index(name = "idx_products_member_id", columnList = "member_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
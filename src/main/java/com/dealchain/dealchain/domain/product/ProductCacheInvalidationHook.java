@@ -0,0 +1,10 @@
+package com.dealchain.dealchain.domain.product;
+
+/**
+ * 다른 노드의 상품 캐시 무효화를 전달하는 확장 지점. (예: Redis pub/sub, SQS)
+ * 빈이 등록되어 있을 때만 호출되며, 수신한 쪽은 {@link ProductService#evictCached(Long)}를 호출하면 됩니다.
+ */
+public interface ProductCacheInvalidationHook {
+
+    void publish(Long productId);
+}
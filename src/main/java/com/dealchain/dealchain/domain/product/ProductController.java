@@ -1,9 +1,13 @@
 package com.dealchain.dealchain.domain.product;
 
 import com.dealchain.dealchain.domain.product.dto.ProductRegisterRequestDto;
+import com.dealchain.dealchain.domain.product.dto.ProductSummary;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -15,11 +19,11 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/products")
@@ -27,6 +31,13 @@ public class ProductController {
     
     @Autowired
     private ProductService productService;
+
+    @Autowired
+    private ProductImageService productImageService;
+
+    // 상품 이미지/썸네일 브라우저 캐시 시간 (파일명이 업로드마다 달라 내용이 바뀌지 않음)
+    @Value("${product.image.cache-max-age-seconds:86400}")
+    private long imageCacheMaxAgeSeconds;
     
     // 상품 등록 API (로그인 필요, 이미지 포함)
     @PostMapping("/create")
@@ -34,6 +45,7 @@ public class ProductController {
             @Valid @ModelAttribute ProductRegisterRequestDto requestDto,
             @RequestParam(value = "productImage", required = false) MultipartFile productImage,
             Authentication authentication) {
+        String productImagePath = null;
         try {
             // 인증 확인
             if (authentication == null || !authentication.isAuthenticated()) {
@@ -46,11 +58,9 @@ public class ProductController {
             // JWT에서 사용자 ID 가져오기
             Long memberId = Long.valueOf(authentication.getName());
             
-            String productImagePath = null;
-            
             // 상품 이미지가 있는 경우 저장
             if (productImage != null && !productImage.isEmpty()) {
-                productImagePath = saveImage(productImage, "products");
+                productImagePath = productImageService.save(productImage, "products");
             }
             
             Product product = productService.registerProduct(
@@ -72,6 +82,8 @@ public class ProductController {
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
+            // 상품 등록에 실패하면 저장한 이미지 참조 해제
+            productImageService.release(productImagePath);
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
             response.put("message", e.getMessage());
@@ -145,36 +157,39 @@ public class ProductController {
         }
     }
     
-    // 전체 상품 목록 조회 API
+    // 전체 상품 목록 조회 API (커서 페이지네이션, 최신순)
     @GetMapping("/list")
-    public ResponseEntity<Map<String, Object>> getAllProducts() {
+    public ResponseEntity<Map<String, Object>> getAllProducts(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "minPrice", required = false) Long minPrice,
+            @RequestParam(value = "maxPrice", required = false) Long maxPrice) {
         try {
-            List<Product> products = productService.findAllProducts();
-            
-            // description과 memberId를 제외한 상품 정보만 추출
-            List<Map<String, Object>> productList = products.stream()
-                    .map(product -> {
-                        Map<String, Object> productMap = new HashMap<>();
-                        productMap.put("id", product.getId());
-                        productMap.put("productName", product.getProductName());
-                        productMap.put("title", product.getTitle());
-                        productMap.put("price", product.getPrice());
-                        // 이미지를 Base64로 인코딩하여 반환
-                        if (product.getProductImage() != null && !product.getProductImage().isEmpty()) {
-                            String base64Image = loadImageAsBase64(product.getProductImage());
-                            productMap.put("productImage", base64Image != null ? base64Image : "");
-                        } else {
-                            productMap.put("productImage", "");
-                        }
-                        return productMap;
-                    })
-                    .toList();
+            ProductService.ProductPage page = productService.findProductPage(cursor, size, null, minPrice, maxPrice);
+            return ResponseEntity.ok(toPageResponse(page));
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+    
+    // 상품 검색 API (제목/상품명/설명, 관련도 순)
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "size", required = false) Integer size) {
+        try {
+            ProductService.ProductSearchPage result = productService.searchProducts(query, page, size);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("products", productList);
-            response.put("count", productList.size());
-            
+            response.put("products", result.items().stream().map(this::toListItem).toList());
+            response.put("count", result.items().size());
+            response.put("totalMatches", result.totalMatches());
+            response.put("hasNext", result.hasNext());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
@@ -184,37 +199,17 @@ public class ProductController {
         }
     }
     
-    // 특정 회원의 상품 목록 조회 API
+    // 특정 회원의 상품 목록 조회 API (커서 페이지네이션, 최신순)
     @GetMapping("/member/{memberId}")
-    public ResponseEntity<Map<String, Object>> getProductsByMember(@PathVariable("memberId") Long memberId) {
+    public ResponseEntity<Map<String, Object>> getProductsByMember(
+            @PathVariable("memberId") Long memberId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size,
+            @RequestParam(value = "minPrice", required = false) Long minPrice,
+            @RequestParam(value = "maxPrice", required = false) Long maxPrice) {
         try {
-            List<Product> products = productService.findProductsByMemberId(memberId);
-            
-            // description과 memberId를 제외한 상품 정보만 추출
-            List<Map<String, Object>> productList = products.stream()
-                    .map(product -> {
-                        Map<String, Object> productMap = new HashMap<>();
-                        productMap.put("id", product.getId());
-                        productMap.put("productName", product.getProductName());
-                        productMap.put("title", product.getTitle());
-                        productMap.put("price", product.getPrice());
-                        // 이미지를 Base64로 인코딩하여 반환
-                        if (product.getProductImage() != null && !product.getProductImage().isEmpty()) {
-                            String base64Image = loadImageAsBase64(product.getProductImage());
-                            productMap.put("productImage", base64Image != null ? base64Image : "");
-                        } else {
-                            productMap.put("productImage", "");
-                        }
-                        return productMap;
-                    })
-                    .toList();
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("products", productList);
-            response.put("count", productList.size());
-            
-            return ResponseEntity.ok(response);
+            ProductService.ProductPage page = productService.findProductPage(cursor, size, memberId, minPrice, maxPrice);
+            return ResponseEntity.ok(toPageResponse(page));
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -223,9 +218,43 @@ public class ProductController {
         }
     }
     
-    // 상품 이미지 조회 API (이미지 파일 직접 반환)
+    // 목록 항목 (description과 memberId 제외, 이미지는 URL만: 목록은 썸네일, 원본은 imageUrl)
+    private Map<String, Object> toListItem(ProductSummary product) {
+        Map<String, Object> productMap = new HashMap<>();
+        productMap.put("id", product.id());
+        productMap.put("productName", product.productName());
+        productMap.put("title", product.title());
+        productMap.put("price", product.price());
+        if (product.productImage() != null && !product.productImage().isEmpty()) {
+            productMap.put("productImage", ProductImageService.thumbnailUrl(product.id()));
+            productMap.put("imageUrl", ProductImageService.imageUrl(product.id()));
+        } else {
+            productMap.put("productImage", "");
+            productMap.put("imageUrl", "");
+        }
+        return productMap;
+    }
+    
+    // 목록 응답 (페이지 정보 포함)
+    private Map<String, Object> toPageResponse(ProductService.ProductPage page) {
+        List<Map<String, Object>> productList = page.items().stream()
+                .map(this::toListItem)
+                .toList();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("products", productList);
+        response.put("count", productList.size());
+        response.put("nextCursor", page.nextCursor());
+        response.put("hasNext", page.hasNext());
+        return response;
+    }
+    
+    // 상품 이미지 조회 API (이미지 파일 직접 반환, size=thumb면 썸네일)
+    // ETag/Last-Modified가 같으면 304로 응답하고, 본문은 파일에서 바로 스트리밍
     @GetMapping("/{productId}/image")
-    public ResponseEntity<byte[]> getProductImage(@PathVariable("productId") Long productId) {
+    public ResponseEntity<Resource> getProductImage(@PathVariable("productId") Long productId,
+                                                    @RequestParam(value = "size", required = false) String size) {
         try {
             Product product = productService.findById(productId);
             
@@ -235,25 +264,26 @@ public class ProductController {
             
             // 이미지 파일 경로
             String imagePath = product.getProductImage();
-            Path filePath = Paths.get(imagePath);
+            Path filePath = "thumb".equals(size)
+                    ? productImageService.thumbnail(imagePath)
+                    : Paths.get(imagePath);
             
             // 파일이 존재하는지 확인
-            if (!Files.exists(filePath)) {
+            if (filePath == null || !Files.exists(filePath)) {
                 return ResponseEntity.notFound().build();
             }
             
-            // 파일 읽기
-            byte[] imageBytes = Files.readAllBytes(filePath);
-            
-            // Content-Type 결정
-            String contentType = getContentType(imagePath);
+            long lastModified = Files.getLastModifiedTime(filePath).toMillis();
+            long length = Files.size(filePath);
+            String eTag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
             
-            // HTTP 헤더 설정
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType(contentType));
-            headers.setContentLength(imageBytes.length);
-            
-            return new ResponseEntity<>(imageBytes, headers, HttpStatus.OK);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(getContentType(filePath.toString())))
+                    .contentLength(length)
+                    .eTag(eTag)
+                    .lastModified(lastModified)
+                    .cacheControl(CacheControl.maxAge(Duration.ofSeconds(imageCacheMaxAgeSeconds)).cachePublic())
+                    .body(new FileSystemResource(filePath));
             
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
@@ -264,27 +294,6 @@ public class ProductController {
         }
     }
     
-    // 이미지 저장 헬퍼 메서드
-    private String saveImage(MultipartFile image, String folder) throws IOException {
-        // 업로드 디렉토리 생성
-        String uploadDir = "uploads/" + folder;
-        Path uploadPath = Paths.get(uploadDir);
-        if (!Files.exists(uploadPath)) {
-            Files.createDirectories(uploadPath);
-        }
-        
-        // 고유한 파일명 생성
-        String originalFilename = image.getOriginalFilename();
-        String extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        String filename = UUID.randomUUID().toString() + extension;
-        
-        // 파일 저장
-        Path filePath = uploadPath.resolve(filename);
-        Files.copy(image.getInputStream(), filePath);
-        
-        return uploadDir + "/" + filename;
-    }
-    
     // 파일 확장자에 따라 Content-Type 결정
     private String getContentType(String filePath) {
         String lowerPath = filePath.toLowerCase();
@@ -0,0 +1,10 @@
+package com.dealchain.dealchain.domain.product;
+
+/**
+ * 상품 삭제 이벤트. 상품/채팅방 관련 캐시 무효화와 상품 이미지 참조 해제에 사용됩니다.
+ *
+ * @param productId    삭제된 상품 ID
+ * @param productImage 삭제된 상품의 이미지 경로 (없으면 null)
+ */
+public record ProductDeletedEvent(Long productId, String productImage) {
+}
@@ -0,0 +1,487 @@
+package com.dealchain.dealchain.domain.product;
+
+import com.dealchain.dealchain.domain.storage.BlobDeletedEvent;
+import com.dealchain.dealchain.domain.storage.BlobStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * 상품 이미지 저장과 썸네일 생성.
+ * 업로드는 임시 파일로 스트리밍한 뒤 매직 바이트로 실제 형식을 확인하고,
+ * 최대 해상도를 넘으면 서브샘플링으로 읽어(메모리 제한) 축소 후 다시 인코딩합니다.
+ * 원본과 썸네일(thumbs/)은 임시 파일에 쓴 뒤 원자적으로 이동하므로 중간 상태의 파일이 남지 않습니다.
+ * 원본은 내용 해시로 저장(BlobStore)하므로 같은 이미지는 한 번만 저장되고, 상품 삭제 시 참조만 해제합니다.
+ * 목록 응답에는 이미지 대신 URL만 내려 클라이언트가 캐시 가능한 엔드포인트에서 받도록 합니다.
+ */
+@Slf4j
+@Service
+public class ProductImageService {
+
+    private static final String UPLOAD_ROOT = "uploads/";
+    private static final String THUMBNAIL_DIR = "thumbs";
+    private static final int SNIFF_BYTES = 12;
+    private static final int APP1_MARKER = 0xFFE1;
+    private static final int SOS_MARKER = 0xFFDA;
+    private static final int EXIF_ORIENTATION_TAG = 0x0112;
+
+    private final BlobStore blobStore;
+
+    // 썸네일 최대 가로/세로 (px, 비율 유지)
+    @Value("${product.image.thumbnail.size:320}")
+    private int thumbnailSize;
+
+    @Value("${product.image.thumbnail.quality:0.8}")
+    private float thumbnailQuality;
+
+    // 저장하는 원본의 최대 가로/세로 (px, 넘으면 축소 후 재인코딩)
+    @Value("${product.image.max-dimension:1600}")
+    private int maxDimension;
+
+    @Value("${product.image.quality:0.85}")
+    private float imageQuality;
+
+    @Value("${product.image.max-upload-bytes:20971520}")
+    private long maxUploadBytes;
+
+    // 헤더에 적힌 해상도 상한 (디코딩 전에 거절, 압축 폭탄 방지)
+    @Value("${product.image.max-pixels:100000000}")
+    private long maxPixels;
+
+    public ProductImageService(@Qualifier("localBlobStore") BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    /**
+     * 상품 이미지를 uploads/{folder}/blobs에 내용 해시로 저장하고 썸네일을 생성합니다.
+     * 같은 내용이 이미 저장되어 있으면 파일을 다시 쓰지 않고 참조만 추가합니다.
+     *
+     * @return 저장된 원본 경로 (DB에 저장되는 값)
+     * @throws IllegalArgumentException 지원하지 않는 형식이거나 크기 제한을 넘는 경우
+     */
+    public String save(MultipartFile image, String folder) throws IOException {
+        if (image.getSize() > maxUploadBytes) {
+            throw new IllegalArgumentException("이미지 크기는 " + (maxUploadBytes / 1024 / 1024) + "MB 이하여야 합니다.");
+        }
+
+        Path uploadPath = Paths.get(UPLOAD_ROOT + folder);
+        Files.createDirectories(uploadPath);
+
+        // 1. 업로드 본문을 임시 파일로 스트리밍 (힙에 전체를 올리지 않음)
+        Path upload = Files.createTempFile(uploadPath, "upload-", ".tmp");
+        Path reencoded = null;
+        Path thumbnailTemp = null;
+        try {
+            try (InputStream in = image.getInputStream()) {
+                Files.copy(in, upload, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            // 2. 클라이언트가 보낸 확장자/Content-Type 대신 실제 내용으로 형식 판별
+            ImageFormat format = sniff(upload);
+
+            // 3. 같은 내용이 그대로 저장된 적 있으면 디코딩 없이 참조만 추가 (썸네일은 없으면 조회 시 생성)
+            String key = blobStore.keyOf(folder, BlobStore.sha256Hex(upload), format.extension());
+            if (blobStore.exists(key)) {
+                return UPLOAD_ROOT + blobStore.put(key, upload, format.contentType(false)).key();
+            }
+
+            // 4. 해상도 제한 내로 읽어 축소/재인코딩 (재인코딩하면 결과물 해시로 키를 다시 정함)
+            // 디코더가 없는 형식(WebP 등)은 원본 그대로 보관하고 썸네일은 생략
+            Decoded decoded = decodeBounded(upload, maxDimension);
+            boolean reencode = decoded != null && Math.max(decoded.width(), decoded.height()) > maxDimension;
+            Path stored = upload;
+            if (reencode) {
+                reencoded = Files.createTempFile(uploadPath, "reencode-", ".tmp");
+                writeImage(fitWithin(decoded.image(), maxDimension, format.keepsAlpha()), format, reencoded, imageQuality);
+                stored = reencoded;
+                key = blobStore.keyOf(folder, BlobStore.sha256Hex(reencoded), format.reencodedExtension());
+            }
+
+            // 5. 썸네일 -> 원본 순서로 원자적 이동 (원본이 보이면 썸네일도 존재, 같은 내용의 썸네일이 있으면 생략)
+            String storedPath = UPLOAD_ROOT + key;
+            Path thumbnail = thumbnailPathOf(storedPath);
+            if (decoded != null && !Files.exists(thumbnail)) {
+                Files.createDirectories(thumbnail.getParent());
+                thumbnailTemp = Files.createTempFile(thumbnail.getParent(), "thumb-", ".tmp");
+                writeImage(fitWithin(decoded.image(), thumbnailSize, false), ImageFormat.JPEG, thumbnailTemp, thumbnailQuality);
+                Files.move(thumbnailTemp, thumbnail, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            blobStore.put(key, stored, format.contentType(reencode));
+            return storedPath;
+        } finally {
+            Files.deleteIfExists(upload);
+            if (reencoded != null) {
+                Files.deleteIfExists(reencoded);
+            }
+            if (thumbnailTemp != null) {
+                Files.deleteIfExists(thumbnailTemp);
+            }
+        }
+    }
+
+    /**
+     * 저장한 이미지의 참조 해제. 다른 상품이 같은 이미지를 쓰고 있으면 파일은 유지됩니다.
+     * 이전 방식(uploads/{folder}/{uuid}.{ext})으로 저장된 이미지는 그대로 둡니다.
+     */
+    public void release(String imagePath) {
+        if (imagePath != null && imagePath.startsWith(UPLOAD_ROOT)) {
+            blobStore.release(imagePath.substring(UPLOAD_ROOT.length()));
+        }
+    }
+
+    // 상품 삭제가 커밋된 뒤 이미지 참조 해제
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductDeleted(ProductDeletedEvent event) {
+        release(event.productImage());
+    }
+
+    // 참조가 없어 원본이 삭제되면 썸네일도 삭제
+    @EventListener
+    public void onBlobDeleted(BlobDeletedEvent event) {
+        if (!blobStore.getName().equals(event.store())) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(thumbnailPathOf(UPLOAD_ROOT + event.key()));
+        } catch (IOException e) {
+            log.warn("상품 썸네일 삭제 실패: {} - {}", event.key(), e.getMessage());
+        }
+    }
+
+    /**
+     * 썸네일 파일 경로 반환. 없으면(이전에 업로드된 이미지 등) 이 시점에 생성합니다.
+     *
+     * @return 썸네일 경로, 원본이 없거나 이미지로 읽을 수 없으면 null
+     */
+    public Path thumbnail(String imagePath) {
+        Path original = Paths.get(imagePath);
+        Path thumbnail = thumbnailPathOf(imagePath);
+        if (Files.exists(thumbnail)) {
+            return thumbnail;
+        }
+        if (!Files.exists(original)) {
+            return null;
+        }
+        Path temp = null;
+        try {
+            Decoded decoded = decodeBounded(original, thumbnailSize);
+            if (decoded == null) {
+                return null;
+            }
+            Files.createDirectories(thumbnail.getParent());
+            temp = Files.createTempFile(thumbnail.getParent(), thumbnail.getFileName().toString(), ".tmp");
+            writeImage(fitWithin(decoded.image(), thumbnailSize, false), ImageFormat.JPEG, temp, thumbnailQuality);
+            Files.move(temp, thumbnail, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return thumbnail;
+        } catch (IOException | RuntimeException e) {
+            log.warn("상품 썸네일 생성 실패: {} - {}", imagePath, e.getMessage());
+            return null;
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // 다음 생성 시 덮어씀
+                }
+            }
+        }
+    }
+
+    /**
+     * 목록 응답용 이미지 URL
+     */
+    public static String imageUrl(Long productId) {
+        return "/api/products/" + productId + "/image";
+    }
+
+    public static String thumbnailUrl(Long productId) {
+        return imageUrl(productId) + "?size=thumb";
+    }
+
+    // uploads/products/abc.png -> uploads/products/thumbs/abc.jpg
+    private static Path thumbnailPathOf(String imagePath) {
+        Path original = Paths.get(imagePath);
+        String name = original.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        Path parent = original.getParent() == null ? Paths.get(".") : original.getParent();
+        return parent.resolve(THUMBNAIL_DIR).resolve(base + ".jpg");
+    }
+
+    private static ImageFormat sniff(Path file) throws IOException {
+        byte[] header = new byte[SNIFF_BYTES];
+        int read;
+        try (InputStream in = Files.newInputStream(file)) {
+            read = in.readNBytes(header, 0, SNIFF_BYTES);
+        }
+        byte[] h = Arrays.copyOf(header, read);
+        if (startsWith(h, 0xFF, 0xD8, 0xFF)) {
+            return ImageFormat.JPEG;
+        }
+        if (startsWith(h, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return ImageFormat.PNG;
+        }
+        if (startsWith(h, 'G', 'I', 'F', '8')) {
+            return ImageFormat.GIF;
+        }
+        if (startsWith(h, 'R', 'I', 'F', 'F') && h.length >= 12 && h[8] == 'W' && h[9] == 'E' && h[10] == 'B' && h[11] == 'P') {
+            return ImageFormat.WEBP;
+        }
+        throw new IllegalArgumentException("지원되지 않는 이미지 형식입니다. (JPEG, PNG, GIF, WebP)");
+    }
+
+    private static boolean startsWith(byte[] data, int... prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 헤더의 해상도만 먼저 읽고, 목표 크기의 2배 이상이면 서브샘플링해서 디코딩 (큰 사진도 메모리 사용량 제한)
+     * JPEG는 EXIF Orientation대로 회전해서 반환합니다. (재인코딩/썸네일은 메타데이터 없이 쓰므로 픽셀을 바로 세워 둠)
+     *
+     * @return 디코딩된 이미지와 원래 해상도, 이 형식의 디코더가 없으면 null
+     */
+    private Decoded decodeBounded(Path file, int targetDimension) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IllegalArgumentException("이미지 해상도가 너무 큽니다. (" + width + "x" + height + ")");
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                // 올림 나눗셈: 서브샘플링 결과의 긴 변이 목표 크기의 2배를 넘지 않도록
+                int window = targetDimension * 2;
+                int step = Math.max(1, (Math.max(width, height) + window - 1) / window);
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                int orientation = "jpeg".equalsIgnoreCase(reader.getFormatName()) ? exifOrientation(file) : 1;
+                return new Decoded(orient(reader.read(0, param), orientation), width, height);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // JPEG 헤더의 APP1(EXIF) 세그먼트에서 Orientation 값 (없거나 읽을 수 없으면 1)
+    // ImageIO 메타데이터는 APP1이 JFIF(APP0)보다 앞에 있는 카메라 파일에서 예외가 나므로 마커를 직접 읽음
+    private static int exifOrientation(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                if ((marker & 0xFF00) != 0xFF00 || marker == SOS_MARKER) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker == APP1_MARKER) {
+                    int orientation = orientationOf(in.readNBytes(length));
+                    if (orientation > 0) {
+                        return orientation;
+                    }
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("EXIF Orientation 읽기 실패: {} - {}", file, e.getMessage());
+            return 1;
+        }
+    }
+
+    // "Exif\0\0" + TIFF 헤더 + IFD0에서 Orientation 태그 (없으면 0)
+    private static int orientationOf(byte[] app1) {
+        int tiff = 6;
+        if (app1.length < tiff + 8 || app1[0] != 'E' || app1[1] != 'x' || app1[2] != 'i' || app1[3] != 'f') {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(app1);
+        if (app1[tiff] == 'I' && app1[tiff + 1] == 'I') {
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+        } else if (app1[tiff] != 'M' || app1[tiff + 1] != 'M') {
+            return 0;
+        }
+        long ifd = tiff + Integer.toUnsignedLong(buffer.getInt(tiff + 4));
+        if (ifd + 2 > app1.length) {
+            return 0;
+        }
+        int entries = Short.toUnsignedInt(buffer.getShort((int) ifd));
+        for (int i = 0; i < entries; i++) {
+            int entry = (int) ifd + 2 + i * 12;
+            if (entry + 12 > app1.length) {
+                break;
+            }
+            if (Short.toUnsignedInt(buffer.getShort(entry)) == EXIF_ORIENTATION_TAG) {
+                int value = Short.toUnsignedInt(buffer.getShort(entry + 8));
+                return value >= 1 && value <= 8 ? value : 0;
+            }
+        }
+        return 0;
+    }
+
+    // EXIF Orientation(1~8)대로 뒤집기/회전 (5~8은 가로세로가 바뀜)
+    private static BufferedImage orient(BufferedImage source, int orientation) {
+        int w = source.getWidth();
+        int h = source.getHeight();
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, w, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, w, h);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, h);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, h, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, h, w);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, w);
+            default -> null;
+        };
+        if (transform == null) {
+            return source;
+        }
+        boolean swap = orientation >= 5;
+        int type = source.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        BufferedImage oriented = new BufferedImage(swap ? h : w, swap ? w : h, type);
+        Graphics2D g = oriented.createGraphics();
+        try {
+            g.drawImage(source, transform, null);
+        } finally {
+            g.dispose();
+        }
+        return oriented;
+    }
+
+    // 비율을 유지해 최대 크기 안으로 축소 (투명도가 필요 없으면 흰 배경의 RGB)
+    private static BufferedImage fitWithin(BufferedImage source, int maxSize, boolean keepAlpha) {
+        double scale = Math.min(1.0, Math.min((double) maxSize / source.getWidth(), (double) maxSize / source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage scaled = new BufferedImage(width, height, keepAlpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            if (!keepAlpha) {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+            }
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private static void writeImage(BufferedImage image, ImageFormat format, Path target, float quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format.writerName());
+        if (!writers.hasNext()) {
+            throw new IllegalStateException(format.writerName() + " 인코더를 찾을 수 없습니다.");
+        }
+        ImageWriter writer = writers.next();
+        try (OutputStream out = Files.newOutputStream(target);
+             ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (format == ImageFormat.JPEG) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    // 서브샘플링으로 읽은 이미지와 원래 해상도
+    private record Decoded(BufferedImage image, int width, int height) {
+    }
+
+    /**
+     * 매직 바이트로 판별한 형식. 재인코딩 시 GIF는 PNG로 (최대 해상도 이내의 GIF는 애니메이션 유지를 위해 원본 보관)
+     */
+    private enum ImageFormat {
+        JPEG("jpg", "jpeg", false),
+        PNG("png", "png", true),
+        GIF("gif", "png", true),
+        WEBP("webp", null, true);
+
+        private final String extension;
+        private final String writerName;
+        private final boolean keepsAlpha;
+
+        ImageFormat(String extension, String writerName, boolean keepsAlpha) {
+            this.extension = extension;
+            this.writerName = writerName;
+            this.keepsAlpha = keepsAlpha;
+        }
+
+        String extension() {
+            return extension;
+        }
+
+        String reencodedExtension() {
+            return "png".equals(writerName) ? "png" : extension;
+        }
+
+        String contentType(boolean reencoded) {
+            String stored = reencoded ? reencodedExtension() : extension;
+            return "jpg".equals(stored) ? "image/jpeg" : "image/" + stored;
+        }
+
+        String writerName() {
+            return writerName;
+        }
+
+        boolean keepsAlpha() {
+            return keepsAlpha;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.dealchain.dealchain.domain.product;
+
+/**
+ * 상품 등록 이벤트. 상품 검색 색인 갱신에 사용됩니다.
+ *
+ * @param productId   등록된 상품 ID
+ * @param productName 상품명
+ * @param title       제목
+ * @param description 상품 설명
+ */
+public record ProductRegisteredEvent(Long productId, String productName, String title, String description) {
+}
@@ -1,8 +1,13 @@
 package com.dealchain.dealchain.domain.product;
 
+import com.dealchain.dealchain.domain.product.dto.ProductSummary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +18,41 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     
     // 특정 회원이 등록한 상품 개수 조회
     long countByMemberId(Long memberId);
+
+    // 검색 색인 생성용 id 순서 배치 조회
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Pageable limit);
+
+    // 검색 결과 id 목록으로 목록용 프로젝션 조회 (순서는 호출한 쪽에서 맞춤)
+    @Query("select new com.dealchain.dealchain.domain.product.dto.ProductSummary(p.id, p.productName, p.title, p.price, p.memberId, p.productImage) " +
+            "from Product p where p.id in :ids")
+    List<ProductSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 커서(마지막으로 받은 id) 이후 상품 목록, 최신순 (count 쿼리 없이 limit만 적용, 기본 키를 역순으로 탐색)
+    @Query("select new com.dealchain.dealchain.domain.product.dto.ProductSummary(p.id, p.productName, p.title, p.price, p.memberId, p.productImage) " +
+            "from Product p where p.id < :cursor order by p.id desc")
+    List<ProductSummary> findPage(@Param("cursor") Long cursor, Pageable limit);
+
+    // 가격 범위 필터가 있을 때만 사용 (필터가 없으면 가격 조건을 붙이지 않음)
+    @Query("select new com.dealchain.dealchain.domain.product.dto.ProductSummary(p.id, p.productName, p.title, p.price, p.memberId, p.productImage) " +
+            "from Product p where p.id < :cursor and p.price between :minPrice and :maxPrice order by p.id desc")
+    List<ProductSummary> findPageInPriceRange(@Param("cursor") Long cursor,
+                                              @Param("minPrice") Long minPrice,
+                                              @Param("maxPrice") Long maxPrice,
+                                              Pageable limit);
+
+    // 특정 회원의 상품 목록 (idx_products_member_id 사용)
+    @Query("select new com.dealchain.dealchain.domain.product.dto.ProductSummary(p.id, p.productName, p.title, p.price, p.memberId, p.productImage) " +
+            "from Product p where p.memberId = :memberId and p.id < :cursor order by p.id desc")
+    List<ProductSummary> findPageByMemberId(@Param("memberId") Long memberId,
+                                            @Param("cursor") Long cursor,
+                                            Pageable limit);
+
+    // 특정 회원의 상품 목록 + 가격 범위 (idx_products_member_id로 좁힌 뒤 가격은 행에서 확인)
+    @Query("select new com.dealchain.dealchain.domain.product.dto.ProductSummary(p.id, p.productName, p.title, p.price, p.memberId, p.productImage) " +
+            "from Product p where p.memberId = :memberId and p.id < :cursor and p.price between :minPrice and :maxPrice order by p.id desc")
+    List<ProductSummary> findPageByMemberIdInPriceRange(@Param("memberId") Long memberId,
+                                                        @Param("cursor") Long cursor,
+                                                        @Param("minPrice") Long minPrice,
+                                                        @Param("maxPrice") Long maxPrice,
+                                                        Pageable limit);
 }
@@ -0,0 +1,313 @@
+package com.dealchain.dealchain.domain.product;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 검색용 인메모리 역색인 (외부 검색 클러스터 없이 프로세스 안에서 동작).
+ * 제목/상품명/설명을 2-gram으로 나눠 색인하므로 띄어쓰기나 조사와 무관하게 한글 부분 일치를 찾습니다.
+ * 시작 시 DB에서 한 번 채우고, 이후에는 상품 등록/삭제 이벤트(커밋 후)로 증분 갱신합니다.
+ * 삭제는 표시만 해두고, 삭제 비율이 커지면 한 번에 정리합니다.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    private static final int GRAM = 2;
+    private static final float TITLE_BOOST = 3.0f;
+    private static final float NAME_BOOST = 2.0f;
+    private static final float DESCRIPTION_BOOST = 1.0f;
+    private static final int REBUILD_BATCH = 1000;
+
+    private final ProductRepository productRepository;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Posting> postings = new HashMap<>();
+    private final Set<Long> docs = new HashSet<>();
+    // 삭제 표시 (정리 전까지 검색 결과에서 제외)
+    private final Set<Long> deleted = new HashSet<>();
+    private final Timer searchTimer;
+    private volatile boolean ready;
+
+    // 이 비율보다 많은 상품에 나오는 gram은 다른 gram이 있으면 점수 계산에서 제외 (불용어 역할)
+    @Value("${product.search.max-df-ratio:0.2}")
+    private double maxDfRatio;
+
+    @Value("${product.search.max-results:1000}")
+    private int maxResults;
+
+    public ProductSearchIndex(ProductRepository productRepository, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.searchTimer = Timer.builder("product.search.latency").publishPercentileHistogram().register(meterRegistry);
+        Gauge.builder("product.search.index.docs", docs, Set::size).register(meterRegistry);
+        Gauge.builder("product.search.index.terms", postings, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * 시작 후 백그라운드에서 전체 상품을 id 순서로 나눠 읽어 색인
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread thread = new Thread(this::rebuild, "product-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void rebuild() {
+        long started = System.currentTimeMillis();
+        long lastId = 0L;
+        int count = 0;
+        try {
+            while (true) {
+                List<Product> batch = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, PageRequest.of(0, REBUILD_BATCH));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (Product product : batch) {
+                    add(product.getId(), product.getProductName(), product.getTitle(), product.getDescription());
+                }
+                lastId = batch.get(batch.size() - 1).getId();
+                count += batch.size();
+            }
+            ready = true;
+            log.info("상품 검색 색인 완료: {}건, {}ms", count, System.currentTimeMillis() - started);
+        } catch (Exception e) {
+            log.error("상품 검색 색인 생성 실패 ({}건까지 색인됨): {}", count, e.getMessage(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductRegistered(ProductRegisteredEvent event) {
+        add(event.productId(), event.productName(), event.title(), event.description());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductDeleted(ProductDeletedEvent event) {
+        if (event.productId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            docs.remove(event.productId());
+            deleted.add(event.productId());
+            // 색인 중에는 표시를 유지해야 늦게 읽힌 삭제 상품이 다시 들어가지 않음
+            if (ready && deleted.size() > 1000 && deleted.size() > docs.size() / 5) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어와 일치하는 상품 ID를 점수 순으로 반환
+     *
+     * @param page 0부터 시작 (page * size가 최대 결과 수 이상이면 IllegalArgumentException)
+     */
+    public SearchResult search(String query, int page, int size) {
+        if ((long) page * size >= maxResults) {
+            throw new IllegalArgumentException("검색 결과는 최대 " + maxResults + "건까지 조회할 수 있습니다.");
+        }
+        long started = System.nanoTime();
+        try {
+            List<String> grams = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+            if (grams.isEmpty()) {
+                return new SearchResult(List.of(), 0, false);
+            }
+
+            lock.readLock().lock();
+            try {
+                return rank(grams, page, size);
+            } finally {
+                lock.readLock().unlock();
+            }
+        } finally {
+            searchTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private SearchResult rank(List<String> grams, int page, int size) {
+        int total = Math.max(1, docs.size());
+        List<Posting> matched = new ArrayList<>();
+        for (String gram : grams) {
+            Posting posting = postings.get(gram);
+            if (posting != null) {
+                matched.add(posting);
+            }
+        }
+        if (matched.isEmpty()) {
+            return new SearchResult(List.of(), 0, false);
+        }
+        // 드문 gram부터 처리하고, 흔한 gram은 다른 gram이 있으면 건너뜀
+        matched.sort(Comparator.comparingInt(Posting::size));
+        long maxDf = Math.max(1, (long) (total * maxDfRatio));
+
+        Map<Long, float[]> scores = new HashMap<>();
+        for (int i = 0; i < matched.size(); i++) {
+            Posting posting = matched.get(i);
+            if (i > 0 && posting.size() > maxDf) {
+                break;
+            }
+            float idf = (float) Math.log(1 + (total - posting.size() + 0.5) / (posting.size() + 0.5));
+            for (int j = 0; j < posting.size(); j++) {
+                long id = posting.ids[j];
+                if (deleted.contains(id)) {
+                    continue;
+                }
+                float[] score = scores.computeIfAbsent(id, k -> new float[2]);
+                score[0] += idf * posting.weights[j];
+                score[1]++;
+            }
+        }
+
+        // 검색어 gram을 많이 포함할수록 가산 (부분 일치보다 전체 일치 우선)
+        int limit = (int) Math.min(maxResults, (long) (page + 1) * size);
+        PriorityQueue<Map.Entry<Long, Float>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+        for (Map.Entry<Long, float[]> entry : scores.entrySet()) {
+            float coverage = entry.getValue()[1] / grams.size();
+            float score = entry.getValue()[0] * coverage * coverage;
+            top.offer(Map.entry(entry.getKey(), score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Long> ranked = new ArrayList<>(top.size());
+        while (!top.isEmpty()) {
+            ranked.add(top.poll().getKey());
+        }
+        Collections.reverse(ranked);
+        int from = Math.min(ranked.size(), page * size);
+        // 최대 결과 수 이후는 조회할 수 없으므로 다음 페이지 여부도 그 안에서 판단
+        boolean hasNext = (long) (page + 1) * size < Math.min(scores.size(), maxResults);
+        return new SearchResult(ranked.subList(from, ranked.size()), scores.size(), hasNext);
+    }
+
+    private void add(Long productId, String productName, String title, String description) {
+        if (productId == null) {
+            return;
+        }
+        Map<String, Float> weights = new HashMap<>();
+        accumulate(weights, title, TITLE_BOOST);
+        accumulate(weights, productName, NAME_BOOST);
+        accumulate(weights, description, DESCRIPTION_BOOST);
+
+        lock.writeLock().lock();
+        try {
+            if (deleted.contains(productId) || !docs.add(productId)) {
+                return;
+            }
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), k -> new Posting()).add(productId, entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // 필드별 등장 횟수를 포화 함수(tf / (tf + 1))로 줄여 긴 설명이 점수를 독차지하지 않도록 함
+    private static void accumulate(Map<String, Float> weights, String text, float boost) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String gram : tokenize(text)) {
+            counts.merge(gram, 1, Integer::sum);
+        }
+        counts.forEach((gram, tf) -> weights.merge(gram, boost * tf / (tf + 1.0f), Float::sum));
+    }
+
+    // 삭제 표시된 상품을 posting에서 실제로 제거 (쓰기 잠금 안에서 호출)
+    private void compact() {
+        Iterator<Map.Entry<String, Posting>> it = postings.entrySet().iterator();
+        while (it.hasNext()) {
+            Posting posting = it.next().getValue();
+            posting.removeAll(deleted);
+            if (posting.size() == 0) {
+                it.remove();
+            }
+        }
+        log.info("상품 검색 색인 정리: 삭제 {}건 반영", deleted.size());
+        deleted.clear();
+    }
+
+    /**
+     * 정규화(NFKC, 소문자) 후 글자/숫자 단위 토큰을 2-gram으로 분해. 한 글자 토큰은 그대로 사용
+     */
+    static List<String> tokenize(String text) {
+        List<String> grams = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return grams;
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int[] codePoints = normalized.codePoints().toArray();
+        int start = 0;
+        for (int i = 0; i <= codePoints.length; i++) {
+            if (i < codePoints.length && Character.isLetterOrDigit(codePoints[i])) {
+                continue;
+            }
+            int length = i - start;
+            if (length == 1) {
+                grams.add(new String(codePoints, start, 1));
+            } else {
+                for (int j = start; j + GRAM <= i; j++) {
+                    grams.add(new String(codePoints, j, GRAM));
+                }
+            }
+            start = i + 1;
+        }
+        return grams;
+    }
+
+    /**
+     * 검색 결과 (요청한 페이지의 상품 ID, 일치한 전체 상품 수, 최대 결과 수 안에 다음 페이지가 있는지)
+     */
+    public record SearchResult(List<Long> productIds, long totalMatches, boolean hasNext) {
+    }
+
+    // gram 하나의 posting 목록 (상품 ID, 가중치)
+    private static final class Posting {
+        private long[] ids = new long[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(long id, float weight) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ids[size] = id;
+            weights[size] = weight;
+            size++;
+        }
+
+        void removeAll(Set<Long> removed) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removed.contains(ids[i])) {
+                    ids[kept] = ids[i];
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
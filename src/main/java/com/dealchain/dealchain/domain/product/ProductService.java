@@ -1,31 +1,85 @@
 package com.dealchain.dealchain.domain.product;
 
+import com.dealchain.dealchain.domain.product.dto.ProductSummary;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 @Service
 @Transactional(transactionManager = "productTransactionManager")
 public class ProductService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String CURSOR_PREFIX = "p1:";
+    private static final int GENERATION_STRIPES = 64;
+
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductSearchIndex productSearchIndex;
+    private final ObjectProvider<ProductCacheInvalidationHook> invalidationHook;
+
+    // 상품 단건 캐시 (계약 흐름마다 판매자 확인용으로 반복 조회됨)
+    private final Cache<Long, Product> products;
+    // 무효화할 때마다 증가 (DB 조회 중 무효화되었으면 조회 결과를 캐시에 넣지 않음, id별 stripe)
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository,
+                          ApplicationEventPublisher eventPublisher,
+                          ProductSearchIndex productSearchIndex,
+                          ObjectProvider<ProductCacheInvalidationHook> invalidationHook,
+                          MeterRegistry meterRegistry,
+                          @Value("${product.cache.max-size:10000}") long maxSize,
+                          @Value("${product.cache.ttl-seconds:600}") long ttlSeconds) {
         this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.productSearchIndex = productSearchIndex;
+        this.invalidationHook = invalidationHook;
+        this.products = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        this.cacheHits = Counter.builder("product.cache").tag("result", "hit").register(meterRegistry);
+        this.cacheMisses = Counter.builder("product.cache").tag("result", "miss").register(meterRegistry);
     }
 
     // 상품 등록 (클래스 레벨의 트랜잭션 매니저 상속)
     public Product registerProduct(String productName, String title, Long price, String description, Long memberId) {
-        Product product = new Product(productName, title, price, description, memberId);
-        return productRepository.save(product);
+        Product product = productRepository.save(new Product(productName, title, price, description, memberId));
+        // 같은 ID로 남아 있을 수 있는 캐시 제거 후, 커밋 후 검색 색인에 추가
+        evictCached(product.getId());
+        eventPublisher.publishEvent(new ProductRegisteredEvent(product.getId(), productName, title, description));
+        return product;
     }
 
     // 상품 등록 (이미지 포함) (클래스 레벨의 트랜잭션 매니저 상속)
     public Product registerProduct(String productName, String title, Long price, String description, Long memberId, String productImage) {
-        Product product = new Product(productName, title, price, description, memberId, productImage);
-        return productRepository.save(product);
+        Product product = productRepository.save(new Product(productName, title, price, description, memberId, productImage));
+        // 같은 ID로 남아 있을 수 있는 캐시 제거 후, 커밋 후 검색 색인에 추가
+        evictCached(product.getId());
+        eventPublisher.publishEvent(new ProductRegisteredEvent(product.getId(), productName, title, description));
+        return product;
     }
 
     // 상품 삭제 (등록자만 삭제 가능) (클래스 레벨의 트랜잭션 매니저 상속)
@@ -45,24 +99,173 @@ public class ProductService {
         }
 
         productRepository.delete(product);
+        evictCached(productId);
+        // 상품을 참조하는 캐시(채팅방 당사자 등) 무효화
+        eventPublisher.publishEvent(new ProductDeletedEvent(productId, product.getProductImage()));
     }
 
-    // 상품 정보 조회
-    @Transactional(readOnly = true, transactionManager = "productTransactionManager")
+    // 상품 정보 조회 (캐시 우선, 없을 때만 DB 조회)
+    // SUPPORTS: 캐시 적중 시 product 트랜잭션을 열지 않음 (미스 시 repository가 자체 트랜잭션으로 조회)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS, transactionManager = "productTransactionManager")
     public Product findById(Long productId) {
-        return productRepository.findById(productId)
+        if (productId == null) {
+            throw new IllegalArgumentException("존재하지 않는 상품입니다.");
+        }
+        Product cached = products.getIfPresent(productId);
+        if (cached != null) {
+            cacheHits.increment();
+            return copyOf(cached);
+        }
+
+        cacheMisses.increment();
+        long generation = generations.get(stripeOf(productId));
+        Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다."));
+        // 조회하는 사이 삭제 등으로 무효화되었으면 이전 값을 다시 캐시하지 않음
+        // (compute 중에는 같은 키의 invalidate가 기다리므로 확인과 저장 사이에 끼어들 수 없음)
+        Product loaded = copyOf(product);
+        products.asMap().compute(productId, (id, current) ->
+                generations.get(stripeOf(id)) == generation ? loaded : current);
+        return product;
+    }
+
+    /**
+     * 캐시에서 상품 제거 (다른 노드의 무효화 메시지를 받았을 때도 호출)
+     */
+    public void evictCached(Long productId) {
+        if (productId != null) {
+            generations.incrementAndGet(stripeOf(productId));
+            products.invalidate(productId);
+        }
     }
 
-    // 전체 상품 목록 조회
+    private static int stripeOf(Long productId) {
+        return Math.floorMod(productId.hashCode(), GENERATION_STRIPES);
+    }
+
+    // 삭제 커밋 후 한 번 더 제거 (커밋 전에 다른 요청이 다시 캐시한 경우 대비) 및 다른 노드에 전달
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductDeleted(ProductDeletedEvent event) {
+        evictCached(event.productId());
+        invalidationHook.ifAvailable(hook -> hook.publish(event.productId()));
+    }
+
+    // 캐시된 인스턴스를 호출한 쪽이 수정하지 않도록 복사본을 주고받음
+    private static Product copyOf(Product source) {
+        Product copy = new Product(source.getProductName(), source.getTitle(), source.getPrice(),
+                source.getDescription(), source.getMemberId(), source.getProductImage());
+        copy.setId(source.getId());
+        return copy;
+    }
+
+    /**
+     * 상품 목록 커서 페이지 조회 (최신순)
+     *
+     * @param cursor   이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size     페이지 크기 (1~100, null이면 20)
+     * @param memberId 등록 회원 필터 (null이면 전체)
+     * @param minPrice 최소 가격 (null이면 제한 없음)
+     * @param maxPrice 최대 가격 (null이면 제한 없음)
+     */
     @Transactional(readOnly = true, transactionManager = "productTransactionManager")
-    public List<Product> findAllProducts() {
-        return productRepository.findAll();
+    public ProductPage findProductPage(String cursor, Integer size, Long memberId, Long minPrice, Long maxPrice) {
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long after = decodeCursor(cursor);
+        long min = minPrice == null ? 0L : minPrice;
+        long max = maxPrice == null ? Long.MAX_VALUE : maxPrice;
+        if (min > max) {
+            throw new IllegalArgumentException("최소 가격이 최대 가격보다 클 수 없습니다.");
+        }
+
+        // 다음 페이지 존재 여부 확인을 위해 한 건 더 조회
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<ProductSummary> rows;
+        if (minPrice == null && maxPrice == null) {
+            rows = memberId == null
+                    ? productRepository.findPage(after, limit)
+                    : productRepository.findPageByMemberId(memberId, after, limit);
+        } else {
+            rows = memberId == null
+                    ? productRepository.findPageInPriceRange(after, min, max, limit)
+                    : productRepository.findPageByMemberIdInPriceRange(memberId, after, min, max, limit);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new ProductPage(rows, null);
+        }
+        List<ProductSummary> items = rows.subList(0, pageSize);
+        return new ProductPage(items, encodeCursor(items.get(pageSize - 1).id()));
     }
 
-    // 특정 회원이 등록한 상품 목록 조회
+    /**
+     * 상품 검색 (제목/상품명/설명, 관련도 순)
+     *
+     * @param page 0부터 시작
+     * @param size 페이지 크기 (1~100, null이면 20)
+     */
     @Transactional(readOnly = true, transactionManager = "productTransactionManager")
-    public List<Product> findProductsByMemberId(Long memberId) {
-        return productRepository.findByMemberId(memberId);
+    public ProductSearchPage searchProducts(String query, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("검색어를 입력해주세요.");
+        }
+        int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int pageIndex = page == null ? 0 : Math.max(0, page);
+
+        ProductSearchIndex.SearchResult result = productSearchIndex.search(query, pageIndex, pageSize);
+        List<Long> ids = result.productIds().size() > pageSize
+                ? result.productIds().subList(0, pageSize)
+                : result.productIds();
+        if (ids.isEmpty()) {
+            return new ProductSearchPage(List.of(), result.totalMatches(), result.hasNext());
+        }
+
+        // 색인 순서(관련도)대로 정렬, 색인 반영 전 삭제된 상품은 제외
+        Map<Long, ProductSummary> byId = new HashMap<>();
+        for (ProductSummary summary : productRepository.findSummariesByIdIn(ids)) {
+            byId.put(summary.id(), summary);
+        }
+        List<ProductSummary> items = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new ProductSearchPage(items, result.totalMatches(), result.hasNext());
+    }
+
+    // 커서는 마지막 상품 id를 감싼 불투명 토큰 (형식 변경 시 접두사 버전 변경)
+    private static String encodeCursor(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(CURSOR_PREFIX)) {
+                throw new IllegalArgumentException("유효하지 않은 커서입니다.");
+            }
+            return Long.parseLong(decoded.substring(CURSOR_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException, 잘못된 Base64 포함
+            throw new IllegalArgumentException("유효하지 않은 커서입니다.", e);
+        }
+    }
+
+    /**
+     * 상품 검색 결과 페이지
+     */
+    public record ProductSearchPage(List<ProductSummary> items, long totalMatches, boolean hasNext) {
+    }
+
+    /**
+     * 상품 목록 페이지 (nextCursor가 null이면 마지막 페이지)
+     */
+    public record ProductPage(List<ProductSummary> items, String nextCursor) {
+
+        public boolean hasNext() {
+            return nextCursor != null;
+        }
     }
-}
\ No newline at end of file
+}
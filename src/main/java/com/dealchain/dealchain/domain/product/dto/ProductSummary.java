@@ -0,0 +1,7 @@
+package com.dealchain.dealchain.domain.product.dto;
+
+/**
+ * 상품 목록용 프로젝션 (description TEXT 컬럼은 읽지 않음)
+ */
+public record ProductSummary(Long id, String productName, String title, Long price, Long memberId, String productImage) {
+}
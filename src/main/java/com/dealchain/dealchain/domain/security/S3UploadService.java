@@ -1,41 +1,125 @@
 package com.dealchain.dealchain.domain.security;
 
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import com.dealchain.dealchain.domain.storage.BlobStore;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
 import software.amazon.awssdk.services.s3.presigner.model.PresignedGetObjectRequest;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
-@RequiredArgsConstructor
 public class S3UploadService {
 
+    // 멀티파트 최소 파트 크기 (마지막 파트 제외)
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
     private final S3Presigner s3Presigner;
+    private final MeterRegistry meterRegistry;
+    // 업로드 파일 중복 제거 (같은 내용은 한 객체를 공유)
+    private final BlobStore blobStore;
+
+    public S3UploadService(S3Client s3Client,
+                           S3AsyncClient s3AsyncClient,
+                           S3Presigner s3Presigner,
+                           MeterRegistry meterRegistry,
+                           @Qualifier("s3BlobStore") BlobStore blobStore) {
+        this.s3Client = s3Client;
+        this.s3AsyncClient = s3AsyncClient;
+        this.s3Presigner = s3Presigner;
+        this.meterRegistry = meterRegistry;
+        this.blobStore = blobStore;
+    }
 
     @Value("${aws.s3.bucket-name}")
     private String bucket;
 
+    @Value("${aws.s3.max-upload-mb:10}")
+    private long maxUploadMb;
+
+    // 이 크기 이상이면 비동기 업로드를 멀티파트로 나눠 병렬 업로드 (업로드 최대 크기보다 작아야 사용됨)
+    @Value("${aws.s3.multipart.threshold-bytes:8388608}")
+    private long multipartThreshold;
+
+    // S3 최소 파트 크기(5MB) 미만이면 5MB로 올림
+    @Value("${aws.s3.multipart.part-size-bytes:5242880}")
+    private long multipartPartSize;
+
+    @Value("${aws.s3.multipart.max-concurrency:4}")
+    private int multipartConcurrency;
+
+    @Value("${aws.s3.metadata-cache.max-entries:10000}")
+    private long metadataCacheMaxEntries;
+
+    @Value("${aws.s3.metadata-cache.ttl-seconds:300}")
+    private long metadataCacheTtlSeconds;
+
+    // HEAD 결과 캐시 (파일 키 -> 메타데이터)
+    private Cache<String, ObjectMetadata> metadataCache;
+
+    // 기준이 업로드 최대 크기보다 크면 멀티파트 경로가 쓰이지 않으므로 시작 시 설정 오류로 처리
+    @PostConstruct
+    void checkMultipartThreshold() {
+        if (multipartThreshold > maxUploadMb * 1024 * 1024) {
+            throw new IllegalStateException("`aws.s3.multipart.threshold-bytes`(" + multipartThreshold
+                    + ")가 업로드 최대 크기(" + maxUploadMb + "MB)보다 큽니다.");
+        }
+    }
+
+    @PostConstruct
+    void initMetadataCache() {
+        this.metadataCache = Caffeine.newBuilder()
+                .maximumSize(metadataCacheMaxEntries)
+                .expireAfterWrite(Duration.ofSeconds(metadataCacheTtlSeconds))
+                .build();
+    }
+
     /**
      * S3에 파일을 업로드하고, 저장된 고유 키(경로)를 반환합니다.
+     * 키는 내용의 SHA-256으로 정해지므로 같은 파일이 이미 있으면 다시 올리지 않고 참조만 추가합니다.
      *
      * @param file          업로드할 MultipartFile
      * @param directoryPath S3 버킷 내의 디렉토리 경로 (예: "profiles/")
-     * @return S3에 저장된 파일의 고유 키 (예: "profiles/uuid-filename.jpg")
+     * @return S3에 저장된 파일의 고유 키 (예: "profiles/blobs/ab/ab12...ef.jpg")
      * @throws IOException
      */
 
@@ -47,29 +131,12 @@ public class S3UploadService {
 
         validateFile(file);
 
-        //파일 이름을 uuid로 랜덤으로 저장
-        String uniqueFileName = directoryPath + UUID.randomUUID().toString() + "-" + (file.getOriginalFilename() == null ? "file" : file.getOriginalFilename());
-
-        long contentLength = file.getSize();
-
         try {
-            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(uniqueFileName)
-                    .contentType(file.getContentType())
-                    .build();
-
-            if (contentLength <= 0) {
-                // content length가 불명확한 경우 안전하게 바이트로 읽어 업로드
-                byte[] bytes = file.getBytes(); // IOException 가능
-                s3Client.putObject(putObjectRequest, RequestBody.fromBytes(bytes));
-            } else {
-                try (InputStream inputStream = file.getInputStream()) {
-                    s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(inputStream, contentLength));
-                }
-            }
-
-            return uniqueFileName;
+            // 업로드 크기 제한(max-upload-mb) 이내이므로 해시 계산을 위해 한 번에 읽음
+            byte[] bytes = file.getBytes(); // IOException 가능
+            String key = blobStore.keyOf(directoryPath, BlobStore.sha256Hex(bytes), extensionOf(file));
+            blobStore.put(key, bytes, file.getContentType());
+            return key;
         } catch (software.amazon.awssdk.services.s3.model.S3Exception e) {
             // S3 서비스 에러 (권한, 버킷 존재 여부, 리전 불일치 등)
             throw new RuntimeException("S3 업로드 실패 - 코드: " + e.statusCode() + ", 메시지: " + e.getMessage(), e);
@@ -127,6 +194,39 @@ public class S3UploadService {
         }
     }
 
+    /**
+     * 다운로드용 Pre-signed URL 발급. S3 응답의 Content-Type/Content-Disposition을 지정하고 만료 시각을 함께 반환합니다.
+     *
+     * @param contentDisposition 예: inline; filename="contract.pdf" (null이면 S3 객체 메타데이터 사용)
+     */
+    public PresignedUrl generatePresignedDownload(String fileKey, Duration ttl, String contentType, String contentDisposition) {
+        if (fileKey == null || fileKey.isEmpty()) {
+            throw new IllegalArgumentException("파일 키가 제공되지 않았습니다.");
+        }
+
+        try {
+            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(fileKey)
+                    .responseContentType(contentType)
+                    .responseContentDisposition(contentDisposition)
+                    .build();
+
+            PresignedGetObjectRequest presignedRequest = s3Presigner.presignGetObject(GetObjectPresignRequest.builder()
+                    .signatureDuration(ttl)
+                    .getObjectRequest(getObjectRequest)
+                    .build());
+
+            return new PresignedUrl(presignedRequest.url().toString(), presignedRequest.expiration());
+
+        } catch (Exception e) {
+            throw new RuntimeException("Pre-signed URL 생성에 실패했습니다.", e);
+        }
+    }
+
+    public record PresignedUrl(String url, Instant expiresAt) {
+    }
+
     /**
      * S3에서 파일을 다운로드하여 바이트 배열로 반환합니다.
      *
@@ -199,7 +299,7 @@ public class S3UploadService {
                         contentType = "application/octet-stream";
                     }
                 }
-                return new FileDownloadResult(fileBytes, contentType);
+                return new FileDownloadResult(fileBytes, contentType, responseInputStream.response().eTag());
             }
         } catch (software.amazon.awssdk.services.s3.model.NoSuchKeyException e) {
             throw new RuntimeException("S3에서 파일을 찾을 수 없습니다: " + fileKey, e);
@@ -229,6 +329,12 @@ public class S3UploadService {
             throw new IllegalArgumentException("파일 키가 제공되지 않았습니다.");
         }
 
+        // 중복 제거된 업로드는 다른 곳에서도 참조할 수 있으므로 참조만 해제 (마지막 참조면 유예 시간 후 삭제)
+        if (blobStore.manages(fileKey)) {
+            blobStore.release(fileKey);
+            return;
+        }
+
         try {
             DeleteObjectRequest deleteObjectRequest = DeleteObjectRequest.builder()
                     .bucket(bucket)
@@ -236,6 +342,7 @@ public class S3UploadService {
                     .build();
 
             s3Client.deleteObject(deleteObjectRequest);
+            metadataCache.invalidate(fileKey);
         } catch (software.amazon.awssdk.services.s3.model.S3Exception e) {
             throw new RuntimeException("S3 삭제 실패 - 코드: " + e.statusCode() + ", 메시지: " + e.getMessage(), e);
         } catch (software.amazon.awssdk.core.exception.SdkClientException e) {
@@ -246,7 +353,7 @@ public class S3UploadService {
     }
 
     /**
-     * S3에서 파일의 Content-Type을 가져옵니다.
+     * S3에서 파일의 Content-Type을 가져옵니다. (HEAD 메타데이터 캐시 사용)
      *
      * @param fileKey S3 버킷 내의 파일 키 (경로)
      * @return Content-Type 문자열, 없으면 "application/octet-stream"
@@ -256,23 +363,164 @@ public class S3UploadService {
             return "application/octet-stream";
         }
 
+        try {
+            String contentType = getMetadata(fileKey).contentType();
+            return contentType != null ? contentType : guessContentType(fileKey);
+        } catch (Exception e) {
+            // 파일 확장자로 추정
+            return guessContentType(fileKey);
+        }
+    }
+
+    /**
+     * S3 객체의 ETag를 HEAD 요청으로 조회합니다. (본문은 내려받지 않음, 캐시를 거치지 않고 항상 최신 값 조회)
+     *
+     * @param fileKey S3 버킷 내의 파일 키 (경로)
+     * @return ETag 문자열
+     * @throws RuntimeException 파일이 존재하지 않거나 조회 중 오류가 발생한 경우
+     */
+    public String getETag(String fileKey) {
+        ObjectMetadata metadata = headObject(fileKey);
+        metadataCache.put(fileKey, metadata);
+        return metadata.eTag();
+    }
+
+    /**
+     * S3 객체 메타데이터(Content-Type, 크기, ETag)를 HEAD 요청으로 조회합니다.
+     * 짧은 시간 캐시하므로 같은 객체를 반복 조회해도 HEAD를 매번 보내지 않습니다.
+     */
+    public ObjectMetadata getMetadata(String fileKey) {
+        ObjectMetadata cached = metadataCache.getIfPresent(fileKey);
+        if (cached != null) {
+            return cached;
+        }
+        ObjectMetadata metadata = headObject(fileKey);
+        metadataCache.put(fileKey, metadata);
+        return metadata;
+    }
+
+    /**
+     * S3 객체 본문을 스트림으로 엽니다. 힙에 전체를 올리지 않고 응답으로 바로 복사할 때 사용합니다.
+     * 반환된 스트림은 호출한 쪽에서 반드시 닫아야 합니다.
+     *
+     * @param range   HTTP Range 값 (예: "bytes=0-1023", 단일 범위만 지원, null이면 전체)
+     * @param ifMatch 이 ETag와 다르면 실패 (검증한 객체가 바뀌지 않았음을 보장, null이면 확인하지 않음)
+     * @throws IllegalStateException ifMatch와 현재 객체의 ETag가 다른 경우
+     */
+    public ObjectStream openStream(String fileKey, String range, String ifMatch) {
+        if (bucket == null || bucket.isBlank()) {
+            throw new IllegalStateException("S3 버킷 이름(`aws.s3.bucket-name`)이 설정되어 있지 않습니다.");
+        }
+
+        if (fileKey == null || fileKey.isEmpty()) {
+            throw new IllegalArgumentException("파일 키가 제공되지 않았습니다.");
+        }
+
         try {
             GetObjectRequest getObjectRequest = GetObjectRequest.builder()
                     .bucket(bucket)
                     .key(fileKey)
+                    .range(range)
+                    .ifMatch(ifMatch)
                     .build();
 
-            GetObjectResponse response = s3Client.getObject(getObjectRequest).response();
-            String contentType = response.contentType();
-            return contentType != null ? contentType : "application/octet-stream";
-        } catch (Exception e) {
-            // 파일 확장자로 추정
-            if (fileKey.toLowerCase().endsWith(".jpg") || fileKey.toLowerCase().endsWith(".jpeg")) {
-                return "image/jpeg";
-            } else if (fileKey.toLowerCase().endsWith(".png")) {
-                return "image/png";
+            return new ObjectStream(s3Client.getObject(getObjectRequest));
+        } catch (software.amazon.awssdk.services.s3.model.NoSuchKeyException e) {
+            throw new RuntimeException("S3에서 파일을 찾을 수 없습니다: " + fileKey, e);
+        } catch (software.amazon.awssdk.services.s3.model.S3Exception e) {
+            if (e.statusCode() == 412) {
+                metadataCache.invalidate(fileKey);
+                throw new IllegalStateException("S3 객체가 변경되었습니다: " + fileKey, e);
             }
-            return "application/octet-stream";
+            if (e.statusCode() == 416 && range != null) {
+                // 만족할 수 없는 범위는 무시하고 전체 반환 (RFC 9110 허용)
+                return openStream(fileKey, null, ifMatch);
+            }
+            throw new RuntimeException("S3 다운로드 실패 - 코드: " + e.statusCode() + ", 메시지: " + e.getMessage(), e);
+        } catch (software.amazon.awssdk.core.exception.SdkClientException e) {
+            throw new RuntimeException("AWS SDK 클라이언트 오류: " + e.getMessage(), e);
+        }
+    }
+
+    private ObjectMetadata headObject(String fileKey) {
+        if (bucket == null || bucket.isBlank()) {
+            throw new IllegalStateException("S3 버킷 이름(`aws.s3.bucket-name`)이 설정되어 있지 않습니다.");
+        }
+
+        if (fileKey == null || fileKey.isEmpty()) {
+            throw new IllegalArgumentException("파일 키가 제공되지 않았습니다.");
+        }
+
+        try {
+            HeadObjectRequest headObjectRequest = HeadObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(fileKey)
+                    .build();
+
+            HeadObjectResponse response = s3Client.headObject(headObjectRequest);
+            return new ObjectMetadata(response.contentType(), response.contentLength(), response.eTag());
+        } catch (software.amazon.awssdk.services.s3.model.NoSuchKeyException e) {
+            throw new RuntimeException("S3에서 파일을 찾을 수 없습니다: " + fileKey, e);
+        } catch (software.amazon.awssdk.services.s3.model.S3Exception e) {
+            throw new RuntimeException("S3 메타데이터 조회 실패 - 코드: " + e.statusCode() + ", 메시지: " + e.getMessage(), e);
+        } catch (software.amazon.awssdk.core.exception.SdkClientException e) {
+            throw new RuntimeException("AWS SDK 클라이언트 오류: " + e.getMessage(), e);
+        }
+    }
+
+    private static String guessContentType(String fileKey) {
+        String lower = fileKey.toLowerCase();
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) {
+            return "image/jpeg";
+        } else if (lower.endsWith(".png")) {
+            return "image/png";
+        } else if (lower.endsWith(".pdf")) {
+            return "application/pdf";
+        }
+        return "application/octet-stream";
+    }
+
+    /**
+     * S3 객체 메타데이터 (HEAD 결과)
+     */
+    public record ObjectMetadata(String contentType, Long contentLength, String eTag) {
+    }
+
+    /**
+     * 열린 S3 객체 스트림. Range 요청이면 partial()이 true이고 contentRange()에 응답 범위가 담깁니다.
+     */
+    public record ObjectStream(ResponseInputStream<GetObjectResponse> body) implements AutoCloseable {
+
+        public String contentType() {
+            return body.response().contentType();
+        }
+
+        public Long contentLength() {
+            return body.response().contentLength();
+        }
+
+        public String contentRange() {
+            return body.response().contentRange();
+        }
+
+        public String eTag() {
+            return body.response().eTag();
+        }
+
+        public boolean partial() {
+            return contentRange() != null;
+        }
+
+        /**
+         * 본문을 그대로 복사 (버퍼 크기만큼만 메모리 사용)
+         */
+        public long transferTo(OutputStream out) throws IOException {
+            return body.transferTo(out);
+        }
+
+        @Override
+        public void close() throws IOException {
+            body.close();
         }
     }
 
@@ -282,10 +530,16 @@ public class S3UploadService {
     public static class FileDownloadResult {
         private final byte[] fileBytes;
         private final String contentType;
+        private final String eTag;
 
         public FileDownloadResult(byte[] fileBytes, String contentType) {
+            this(fileBytes, contentType, null);
+        }
+
+        public FileDownloadResult(byte[] fileBytes, String contentType, String eTag) {
             this.fileBytes = fileBytes;
             this.contentType = contentType;
+            this.eTag = eTag;
         }
 
         public byte[] getFileBytes() {
@@ -295,6 +549,10 @@ public class S3UploadService {
         public String getContentType() {
             return contentType;
         }
+
+        public String getETag() {
+            return eTag;
+        }
     }
 
     /**
@@ -332,6 +590,8 @@ public class S3UploadService {
                     s3Client.putObject(putObjectRequest, RequestBody.fromInputStream(inputStream, contentLength));
                 }
             }
+            // 같은 키를 덮어쓰므로 캐시된 메타데이터 제거
+            metadataCache.invalidate(fileKey);
         } catch (software.amazon.awssdk.services.s3.model.S3Exception e) {
             throw new RuntimeException("S3 업로드 실패 - 코드: " + e.statusCode() + ", 메시지: " + e.getMessage(), e);
         } catch (software.amazon.awssdk.core.exception.SdkClientException e) {
@@ -401,6 +661,248 @@ public class S3UploadService {
         }
     }
 
+    /**
+     * 서버에서 생성한 PDF 바이트를 S3에 업로드하면서 같은 패스에서 SHA-256 해시를 계산합니다.
+     * 바이트 배열을 복사하지 않고 그대로 스트리밍합니다.
+     *
+     * @param pdfBytes      업로드할 PDF 내용
+     * @param directoryPath S3 버킷 내의 디렉토리 경로 (예: "contracts/")
+     * @param fileName      파일명 (예: "contract-roomId.pdf")
+     * @return S3 키, SHA-256 해시(16진수), 크기
+     */
+    public UploadResult uploadPdfWithDigest(byte[] pdfBytes, String directoryPath, String fileName) {
+        if (bucket == null || bucket.isBlank()) {
+            throw new IllegalStateException("S3 버킷 이름(`aws.s3.bucket-name`)이 설정되어 있지 않습니다.");
+        }
+
+        if (pdfBytes == null || pdfBytes.length == 0) {
+            throw new IllegalArgumentException("파일이 비어있습니다.");
+        }
+
+        String uniqueFileName = directoryPath + UUID.randomUUID().toString() + "-" + (fileName == null ? "file.pdf" : fileName);
+
+        try {
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucket)
+                    .key(uniqueFileName)
+                    .contentType("application/pdf")
+                    .build();
+
+            DigestingContent content = new DigestingContent(pdfBytes);
+            s3Client.putObject(putObjectRequest,
+                    RequestBody.fromContentProvider(content::newStream, pdfBytes.length, "application/pdf"));
+
+            return new UploadResult(uniqueFileName, content.hashHex(), pdfBytes.length);
+        } catch (software.amazon.awssdk.services.s3.model.S3Exception e) {
+            throw new RuntimeException("S3 업로드 실패 - 코드: " + e.statusCode() + ", 메시지: " + e.getMessage(), e);
+        } catch (software.amazon.awssdk.core.exception.SdkClientException e) {
+            throw new RuntimeException("AWS SDK 클라이언트 오류: " + e.getMessage(), e);
+        } catch (Exception e) {
+            throw new RuntimeException("알 수 없는 업로드 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 호출 스레드를 막지 않고 S3에 업로드합니다. (비동기 클라이언트 사용)
+     * 요청이 끝나면 MultipartFile 임시 파일이 삭제되므로 내용은 호출 스레드에서 읽고(해시 계산 포함),
+     * 전송만 비동기로 진행합니다. 큰 파일은 멀티파트로 나눠 파트를 병렬 업로드합니다.
+     * 같은 내용이 이미 있으면 전송하지 않고 참조만 추가합니다.
+     *
+     * @param file          업로드할 MultipartFile
+     * @param directoryPath S3 버킷 내의 디렉토리 경로 (예: "signatures/")
+     * @return 업로드 완료 시 S3 키, SHA-256 해시, 크기
+     */
+    public CompletableFuture<UploadResult> uploadAsync(MultipartFile file, String directoryPath) {
+        if (bucket == null || bucket.isBlank()) {
+            throw new IllegalStateException("S3 버킷 이름(`aws.s3.bucket-name`)이 설정되어 있지 않습니다.");
+        }
+
+        validateFile(file);
+
+        byte[] bytes;
+        String hash;
+        try (DigestInputStream inputStream = new DigestInputStream(file.getInputStream(), sha256())) {
+            bytes = inputStream.readAllBytes();
+            hash = HexFormat.of().formatHex(inputStream.getMessageDigest().digest());
+        } catch (IOException e) {
+            throw new RuntimeException("업로드할 파일을 읽는 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+
+        // 내용 해시로 키를 정하므로 같은 파일이 이미 있으면 전송하지 않고 참조만 추가
+        String key = blobStore.keyOf(directoryPath, hash, extensionOf(file));
+        String contentType = file.getContentType();
+        boolean multipart = bytes.length >= multipartThreshold;
+        String mode = multipart ? "multipart" : "single";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<BlobStore.StoredBlob> upload = blobStore.putAsync(key, bytes.length, () -> (multipart
+                ? putMultipart(key, contentType, bytes)
+                : s3AsyncClient.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(key)
+                        .contentType(contentType)
+                        .build(), AsyncRequestBody.fromBytesUnsafe(bytes))));
+
+        return upload.handle((stored, error) -> {
+            String result = error != null ? "failure" : stored.created() ? "success" : "deduplicated";
+            sample.stop(Timer.builder("s3.upload")
+                    .tag("mode", mode)
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+            if (error != null) {
+                throw translateUploadError(error);
+            }
+            if (stored.created()) {
+                DistributionSummary.builder("s3.upload.size").baseUnit("bytes").tag("mode", mode)
+                        .register(meterRegistry)
+                        .record(bytes.length);
+            }
+            return new UploadResult(key, hash, bytes.length);
+        });
+    }
+
+    /**
+     * 멀티파트 업로드: 파트를 최대 max-concurrency개씩 병렬 전송하고, 실패하면 업로드를 취소(abort)합니다.
+     */
+    private CompletableFuture<?> putMultipart(String key, String contentType, byte[] bytes) {
+        int partSize = (int) Math.max(MIN_PART_SIZE, multipartPartSize);
+        int partCount = (int) ((bytes.length + (long) partSize - 1) / partSize);
+
+        return s3AsyncClient.createMultipartUpload(b -> b.bucket(bucket).key(key).contentType(contentType))
+                .thenCompose(created -> {
+                    String uploadId = created.uploadId();
+                    return Flux.range(1, partCount)
+                            // 완료 순서와 관계없이 파트 번호 순서대로 모음
+                            .flatMapSequential(partNumber -> Mono.fromFuture(() ->
+                                            uploadPart(key, uploadId, partNumber, bytes, partSize)),
+                                    Math.max(1, multipartConcurrency))
+                            .collectList()
+                            .toFuture()
+                            .thenCompose(parts -> s3AsyncClient.completeMultipartUpload(b -> b
+                                    .bucket(bucket)
+                                    .key(key)
+                                    .uploadId(uploadId)
+                                    .multipartUpload(m -> m.parts(parts))))
+                            .whenComplete((completed, error) -> {
+                                if (error != null) {
+                                    s3AsyncClient.abortMultipartUpload(b -> b.bucket(bucket).key(key).uploadId(uploadId));
+                                }
+                            });
+                });
+    }
+
+    private CompletableFuture<CompletedPart> uploadPart(String key, String uploadId, int partNumber, byte[] bytes, int partSize) {
+        int offset = (partNumber - 1) * partSize;
+        int length = Math.min(partSize, bytes.length - offset);
+        UploadPartRequest uploadPartRequest = UploadPartRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .uploadId(uploadId)
+                .partNumber(partNumber)
+                .contentLength((long) length)
+                .build();
+        // 파트마다 배열을 복사하지 않고 원본 배열의 구간을 그대로 전송 (bytes는 업로드가 끝날 때까지 수정하지 않음)
+        AsyncRequestBody body = AsyncRequestBody.fromRemainingByteBufferUnsafe(ByteBuffer.wrap(bytes, offset, length));
+        return s3AsyncClient.uploadPart(uploadPartRequest, body)
+                .thenApply(response -> CompletedPart.builder().partNumber(partNumber).eTag(response.eTag()).build());
+    }
+
+    // 동기 업로드와 같은 메시지 형식으로 변환
+    private RuntimeException translateUploadError(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof software.amazon.awssdk.services.s3.model.S3Exception e) {
+            return new RuntimeException("S3 업로드 실패 - 코드: " + e.statusCode() + ", 메시지: " + e.getMessage(), e);
+        }
+        if (cause instanceof software.amazon.awssdk.core.exception.SdkClientException) {
+            return new RuntimeException("AWS SDK 클라이언트 오류: " + cause.getMessage(), cause);
+        }
+        return new RuntimeException("알 수 없는 업로드 오류가 발생했습니다: " + cause.getMessage(), cause);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 업로드 결과 (S3 키, SHA-256 해시 16진수, 바이트 크기)
+     */
+    public record UploadResult(String key, String sha256Hex, long size) {
+    }
+
+    /**
+     * 업로드 스트림을 읽는 동안 SHA-256을 계산합니다.
+     * SDK가 재시도하면 스트림을 새로 열므로 해시도 매번 새로 시작하고, 끝까지 읽힌 스트림의 결과만 사용합니다.
+     */
+    private static final class DigestingContent {
+        private final byte[] bytes;
+        private volatile CountingDigestStream last;
+
+        DigestingContent(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        InputStream newStream() {
+            CountingDigestStream stream = new CountingDigestStream(new ByteArrayInputStream(bytes), sha256());
+            last = stream;
+            return stream;
+        }
+
+        String hashHex() {
+            CountingDigestStream stream = last;
+            byte[] digest = stream != null && stream.count == bytes.length
+                    ? stream.getMessageDigest().digest()
+                    // 스트림이 끝까지 읽히지 않은 경우(체크섬 계산 방식 등)에만 다시 계산
+                    : sha256().digest(bytes);
+            return HexFormat.of().formatHex(digest);
+        }
+    }
+
+    private static final class CountingDigestStream extends DigestInputStream {
+        private long count;
+
+        CountingDigestStream(InputStream in, MessageDigest digest) {
+            super(in, digest);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+
+    // 같은 내용이 확장자 표기(jpg/jpeg) 때문에 다른 키가 되지 않도록 통일 (validateFile 통과한 파일 기준)
+    private static String extensionOf(MultipartFile file) {
+        if ("image/png".equals(file.getContentType())) {
+            return "png";
+        }
+        if ("image/jpeg".equals(file.getContentType())) {
+            return "jpg";
+        }
+        String filename = file.getOriginalFilename();
+        String lower = filename == null ? "" : filename.toLowerCase();
+        return lower.endsWith(".png") ? "png" : "jpg";
+    }
+
     /**
      * [보안] 업로드 파일 검증 (Java 시큐어 코딩 가이드 - '위험한 형식 파일 업로드' 방어)
      * 이미지(JPEG, PNG, jpg)와 PDF 파일만 허용합니다.
@@ -410,10 +912,10 @@ public class S3UploadService {
             throw new IllegalArgumentException("파일이 비어있습니다.");
         }
 
-        // 파일 크기 제한 (10MB)
-        long maxSize = 10 * 1024 * 1024; // 10MB
+        // 파일 크기 제한 (기본 10MB)
+        long maxSize = maxUploadMb * 1024 * 1024;
         if (file.getSize() > maxSize) {
-            throw new IllegalArgumentException("파일 크기가 10MB를 초과할 수 없습니다.");
+            throw new IllegalArgumentException("파일 크기가 " + maxUploadMb + "MB를 초과할 수 없습니다.");
         }
 
         // 허용된 content-type 검사 (이미지 jpeg, png)
@@ -449,10 +951,10 @@ public class S3UploadService {
             throw new IllegalArgumentException("파일이 비어있습니다.");
         }
 
-        // 파일 크기 제한 (10MB)
-        long maxSize = 10 * 1024 * 1024; // 10MB
+        // 파일 크기 제한 (기본 10MB)
+        long maxSize = maxUploadMb * 1024 * 1024;
         if (file.getSize() > maxSize) {
-            throw new IllegalArgumentException("파일 크기가 10MB를 초과할 수 없습니다.");
+            throw new IllegalArgumentException("파일 크기가 " + maxUploadMb + "MB를 초과할 수 없습니다.");
         }
 
         // 허용된 content-type 검사 (PDF)
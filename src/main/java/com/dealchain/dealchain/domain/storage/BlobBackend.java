@@ -0,0 +1,42 @@
+package com.dealchain.dealchain.domain.storage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 콘텐츠 주소 저장소의 실제 저장 위치 (로컬 파일시스템, S3).
+ * 키는 '/'로 구분된 상대 경로이며, 같은 키에 쓰면 덮어씁니다.
+ */
+public interface BlobBackend {
+
+    boolean exists(String key) throws IOException;
+
+    /**
+     * 파일 내용을 key에 저장합니다. 같은 파일시스템이면 원본 파일이 이동될 수 있습니다.
+     */
+    void write(String key, Path source, String contentType) throws IOException;
+
+    void write(String key, byte[] content, String contentType) throws IOException;
+
+    /**
+     * 없는 키는 무시합니다.
+     */
+    void delete(String key) throws IOException;
+
+    /**
+     * source를 target으로 옮깁니다. (target이 있으면 덮어씀)
+     *
+     * @return source가 없어 옮기지 않았으면 false
+     */
+    boolean move(String source, String target) throws IOException;
+
+    /**
+     * prefix 아래의 모든 객체 (하위 경로 포함)
+     */
+    List<Entry> list(String prefix) throws IOException;
+
+    record Entry(String key, Instant lastModified) {
+    }
+}
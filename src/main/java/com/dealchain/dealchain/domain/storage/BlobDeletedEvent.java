@@ -0,0 +1,10 @@
+package com.dealchain.dealchain.domain.storage;
+
+/**
+ * 참조가 모두 해제된 blob이 저장소에서 삭제된 뒤 발행 (파생 파일 정리용, 예: 상품 썸네일)
+ *
+ * @param store 저장소 이름
+ * @param key   삭제된 blob 키
+ */
+public record BlobDeletedEvent(String store, String key) {
+}
@@ -0,0 +1,325 @@
+package com.dealchain.dealchain.domain.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * SHA-256 내용 주소 저장소. 같은 내용은 한 번만 저장하고 참조 수로 수명을 관리합니다.
+ * 키 형식: {namespace}/blobs/{해시 앞 2자리}/{해시}.{확장자}
+ * 참조는 _refs/{키}/ 아래의 빈 마커 객체 하나가 한 건입니다. (참조 수를 읽고 다시 쓰지 않으므로 노드 간에 갱신이 유실되지 않음)
+ * 마지막 참조가 해제되면 _orphans/{키} 표시만 남기고, 유예 시간이 지나도 참조가 없을 때 정리 작업이 삭제합니다.
+ * (유예 시간 동안 같은 내용이 다시 올라오면 표시를 지우고 그대로 재사용)
+ * 잠금은 프로세스 안에서만 유효하므로, 다른 노드의 저장과 겹치는 경우는 {@link #sweep()}의 이동 후 재확인으로 처리합니다.
+ */
+public class BlobStore {
+    private static final Logger log = LoggerFactory.getLogger(BlobStore.class);
+
+    private static final String BLOB_DIR = "blobs";
+    private static final String REFS_PREFIX = "_refs/";
+    private static final String ORPHANS_PREFIX = "_orphans/";
+    private static final String TRASH_PREFIX = "_trash/";
+    private static final byte[] MARKER = new byte[0];
+    private static final int LOCK_STRIPES = 64;
+
+    private final String name;
+    private final BlobBackend backend;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Executor executor;
+    private final Duration orphanGrace;
+    // 같은 키의 참조 기록/해제/정리를 이 프로세스 안에서 순서대로 처리 (내용 전송은 잠금 밖)
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Counter created;
+    private final Counter deduplicated;
+    private final Counter deleted;
+
+    public BlobStore(String name,
+                     BlobBackend backend,
+                     ApplicationEventPublisher eventPublisher,
+                     Executor executor,
+                     Duration orphanGrace,
+                     MeterRegistry meterRegistry) {
+        this.name = name;
+        this.backend = backend;
+        this.eventPublisher = eventPublisher;
+        this.executor = executor;
+        this.orphanGrace = orphanGrace;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.created = Counter.builder("blob.store").tag("store", name).tag("result", "created").register(meterRegistry);
+        this.deduplicated = Counter.builder("blob.store").tag("store", name).tag("result", "deduplicated").register(meterRegistry);
+        this.deleted = Counter.builder("blob.store").tag("store", name).tag("result", "deleted").register(meterRegistry);
+    }
+
+    /**
+     * 내용 해시로 키를 만듭니다.
+     *
+     * @param namespace 용도별 경로 (예: "products", "signatures/")
+     * @param extension 확장자 (없으면 null)
+     */
+    public String keyOf(String namespace, String sha256Hex, String extension) {
+        String directory = namespace.endsWith("/") ? namespace : namespace + "/";
+        String suffix = extension == null || extension.isBlank() ? "" : "." + extension;
+        return directory + BLOB_DIR + "/" + sha256Hex.substring(0, 2) + "/" + sha256Hex + suffix;
+    }
+
+    /**
+     * 이 저장소가 관리하는 키인지 (이전 방식으로 저장된 파일은 false)
+     */
+    public boolean manages(String key) {
+        return key != null && key.contains("/" + BLOB_DIR + "/") && !key.startsWith(REFS_PREFIX) && !key.startsWith(ORPHANS_PREFIX)
+                && !key.startsWith(TRASH_PREFIX);
+    }
+
+    public boolean exists(String key) throws IOException {
+        return backend.exists(key);
+    }
+
+    /**
+     * 파일 내용을 저장하고 참조를 하나 추가합니다. 이미 있으면 쓰지 않습니다.
+     * 같은 파일시스템의 로컬 저장소면 파일이 이동되므로 호출한 쪽은 이후 source를 사용하지 않아야 합니다.
+     *
+     * @param key {@link #keyOf}로 만든 키 (source 내용의 해시)
+     */
+    public StoredBlob put(String key, Path source, String contentType) throws IOException {
+        long size = Files.size(source);
+        return put(key, size, () -> backend.write(key, source, contentType));
+    }
+
+    public StoredBlob put(String key, byte[] content, String contentType) throws IOException {
+        return put(key, content.length, () -> backend.write(key, content, contentType));
+    }
+
+    /**
+     * 내용 전송을 호출한 쪽이 직접 하는 경우. writer는 blob이 없을 때만 호출됩니다.
+     * 전송은 잠금 밖에서 하며, 같은 내용을 동시에 쓰더라도 결과가 같으므로 문제없습니다.
+     */
+    public StoredBlob put(String key, long size, ContentWriter writer) throws IOException {
+        Reservation reservation = reserve(key);
+        if (reservation.exists()) {
+            deduplicated.increment();
+            return new StoredBlob(key, size, false);
+        }
+        try {
+            writer.write();
+        } catch (IOException | RuntimeException e) {
+            discard(reservation);
+            throw e;
+        }
+        created.increment();
+        return new StoredBlob(key, size, true);
+    }
+
+    /**
+     * 비동기 전송용 (예: S3 멀티파트 업로드). 참조 기록/중복 확인만 저장소 전용 스레드에서 하고,
+     * 전송은 writer가 돌려준 future에 이어 붙이므로 전송하는 동안 스레드와 잠금을 잡고 있지 않습니다.
+     */
+    public CompletableFuture<StoredBlob> putAsync(String key, long size, AsyncContentWriter writer) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return reserve(key);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, executor).thenCompose(reservation -> {
+            if (reservation.exists()) {
+                deduplicated.increment();
+                return CompletableFuture.completedFuture(new StoredBlob(key, size, false));
+            }
+            CompletableFuture<?> transfer;
+            try {
+                transfer = writer.write();
+            } catch (RuntimeException e) {
+                transfer = CompletableFuture.failedFuture(e);
+            }
+            // 실패 시 참조 삭제는 동기 호출이므로 SDK 스레드가 아닌 저장소 스레드에서 처리
+            return transfer.handleAsync((ignored, error) -> {
+                if (error != null) {
+                    discard(reservation);
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                }
+                created.increment();
+                return new StoredBlob(key, size, true);
+            }, executor);
+        });
+    }
+
+    // 참조를 먼저 기록한 뒤 존재 여부 확인 (이 구간만 잠금, 정리 작업이 사용 중인 blob을 지우지 않도록)
+    private Reservation reserve(String key) throws IOException {
+        synchronized (lockFor(key)) {
+            String ref = REFS_PREFIX + key + "/" + UUID.randomUUID();
+            backend.write(ref, MARKER, null);
+            try {
+                backend.delete(ORPHANS_PREFIX + key);
+                return new Reservation(ref, backend.exists(key));
+            } catch (IOException | RuntimeException e) {
+                backend.delete(ref);
+                throw e;
+            }
+        }
+    }
+
+    // 전송 실패 시 기록해 둔 참조 삭제 (실패해도 저장 공간만 남음)
+    private void discard(Reservation reservation) {
+        try {
+            backend.delete(reservation.ref());
+        } catch (IOException | RuntimeException e) {
+            log.warn("blob 참조 정리 실패: store={}, ref={}, error={}", name, reservation.ref(), e.getMessage());
+        }
+    }
+
+    /**
+     * 참조를 하나 해제합니다. 마지막 참조였다면 유예 시간 후 삭제되도록 표시합니다.
+     * 이 저장소가 관리하지 않는 키는 무시합니다.
+     */
+    public void release(String key) {
+        if (!manages(key)) {
+            return;
+        }
+        synchronized (lockFor(key)) {
+            try {
+                List<BlobBackend.Entry> refs = backend.list(REFS_PREFIX + key + "/");
+                if (refs.isEmpty()) {
+                    log.warn("참조가 없는 blob 해제 요청: store={}, key={}", name, key);
+                    return;
+                }
+                backend.delete(refs.get(0).key());
+                if (refs.size() == 1) {
+                    backend.write(ORPHANS_PREFIX + key, MARKER, null);
+                }
+            } catch (IOException | RuntimeException e) {
+                // 해제 실패는 저장 공간만 남고 데이터는 잃지 않음
+                log.warn("blob 참조 해제 실패: store={}, key={}, error={}", name, key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 유예 시간이 지나도록 참조가 없는 blob 삭제.
+     * 모든 노드가 같은 저장소를 정리하므로 참조가 없다고 바로 지우지 않고, _trash/로 옮긴 뒤 참조를 다시 확인합니다.
+     * 저장은 참조를 먼저 기록한 뒤 blob 존재 여부를 보므로, 옮기기 전에 blob을 재사용한 요청의 참조는 재확인에서 보이고(되돌림)
+     * 옮긴 뒤의 요청은 blob이 없다고 보고 다시 씁니다.
+     */
+    @Scheduled(fixedDelayString = "${storage.blob.sweep-interval-ms:600000}")
+    public void sweep() {
+        Instant cutoff = Instant.now().minus(orphanGrace);
+        int removed = 0;
+        try {
+            // 옮긴 뒤 재확인 전에 중단된 blob (방금 옮겨져 다른 노드가 확인 중인 것은 건드리지 않도록 오래된 것만)
+            for (BlobBackend.Entry trashed : backend.list(TRASH_PREFIX)) {
+                if (trashed.lastModified() != null && trashed.lastModified().isAfter(cutoff)) {
+                    continue;
+                }
+                String key = trashed.key().substring(TRASH_PREFIX.length());
+                synchronized (lockFor(key)) {
+                    if (settle(key)) {
+                        removed++;
+                    }
+                }
+            }
+
+            for (BlobBackend.Entry orphan : backend.list(ORPHANS_PREFIX)) {
+                if (orphan.lastModified() != null && orphan.lastModified().isAfter(cutoff)) {
+                    continue;
+                }
+                String key = orphan.key().substring(ORPHANS_PREFIX.length());
+                synchronized (lockFor(key)) {
+                    // 표시 이후 다시 참조되었으면 삭제하지 않음
+                    if (backend.list(REFS_PREFIX + key + "/").isEmpty()
+                            && backend.move(key, TRASH_PREFIX + key)
+                            && settle(key)) {
+                        removed++;
+                    }
+                    backend.delete(orphan.key());
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("blob 정리 중 오류: store={}, error={}", name, e.getMessage());
+        }
+        if (removed > 0) {
+            log.info("참조가 없는 blob {}건 삭제: store={}", removed, name);
+        }
+    }
+
+    // _trash/로 옮긴 blob의 참조를 다시 확인해 삭제 (그 사이 다른 노드가 참조했으면 원래 키로 되돌림)
+    private boolean settle(String key) throws IOException {
+        String trashed = TRASH_PREFIX + key;
+        if (!backend.list(REFS_PREFIX + key + "/").isEmpty()) {
+            backend.move(trashed, key);
+            log.info("정리 중 다시 참조된 blob 복구: store={}, key={}", name, key);
+            return false;
+        }
+        backend.delete(trashed);
+        deleted.increment();
+        eventPublisher.publishEvent(new BlobDeletedEvent(name, key));
+        return true;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private Object lockFor(String key) {
+        return locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+
+    public static String sha256Hex(byte[] content) {
+        return HexFormat.of().formatHex(sha256().digest(content));
+    }
+
+    public static String sha256Hex(Path file) throws IOException {
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(file), sha256())) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * 저장 결과 (키, 크기, 이번 호출에서 새로 썼는지)
+     */
+    public record StoredBlob(String key, long size, boolean created) {
+    }
+
+    // 기록한 참조 마커 키와 blob이 이미 있었는지
+    private record Reservation(String ref, boolean exists) {
+    }
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void write() throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface AsyncContentWriter {
+        CompletableFuture<?> write();
+    }
+}
@@ -0,0 +1,98 @@
+package com.dealchain.dealchain.domain.storage;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * S3 버킷에 저장 (객체 키 = 저장소 키).
+ * SDK 예외는 그대로 전달하므로 호출한 쪽(S3UploadService 등)의 오류 메시지 형식을 따릅니다.
+ */
+public class S3BlobBackend implements BlobBackend {
+
+    private final S3Client s3Client;
+    private final String bucket;
+
+    public S3BlobBackend(S3Client s3Client, String bucket) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build());
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            // HEAD 응답에는 본문이 없어 NoSuchKey 대신 404로 오는 경우가 있음
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void write(String key, Path source, String contentType) {
+        put(key, contentType, RequestBody.fromFile(source));
+    }
+
+    @Override
+    public void write(String key, byte[] content, String contentType) {
+        put(key, contentType, RequestBody.fromBytes(content));
+    }
+
+    @Override
+    public void delete(String key) {
+        s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(key).build());
+    }
+
+    // S3에는 이동이 없으므로 서버 측 복사 후 원본 삭제
+    @Override
+    public boolean move(String source, String target) {
+        try {
+            s3Client.copyObject(CopyObjectRequest.builder()
+                    .sourceBucket(bucket)
+                    .sourceKey(source)
+                    .destinationBucket(bucket)
+                    .destinationKey(target)
+                    .build());
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+        delete(source);
+        return true;
+    }
+
+    @Override
+    public List<Entry> list(String prefix) {
+        ListObjectsV2Request request = ListObjectsV2Request.builder().bucket(bucket).prefix(prefix).build();
+        return s3Client.listObjectsV2Paginator(request).contents().stream()
+                .map(object -> new Entry(object.key(), object.lastModified()))
+                .toList();
+    }
+
+    private void put(String key, String contentType, RequestBody body) {
+        s3Client.putObject(PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(key)
+                .contentType(contentType)
+                .build(), body);
+    }
+}
@@ -1,14 +1,21 @@
 package com.dealchain.dealchain.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.Cipher;
 import javax.crypto.spec.SecretKeySpec;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.util.Base64;
 
 @Component
@@ -16,16 +23,46 @@ public class EncryptionUtil {
     
     @Value("${encryption.secret-key}")
     private String secretKeyString;
+
+    // (sellerId, buyerId)별 파생 키 캐시 크기
+    @Value("${encryption.derived-key-cache-size:1024}")
+    private long derivedKeyCacheSize;
     
     private static final String ALGORITHM = "AES";
     private static final String TRANSFORMATION = "AES";
-    
-    private SecretKeySpec getSecretKey() {
+
+    // Cipher는 스레드 안전하지 않으므로 스레드별로 재사용 (매 호출 getInstance 비용 제거)
+    private static final ThreadLocal<Cipher> CIPHER = ThreadLocal.withInitial(() -> {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cipher 생성 중 오류가 발생했습니다.", e);
+        }
+    });
+
+    private SecretKeySpec secretKey;
+    private Cache<String, SecretKeySpec> derivedKeys;
+
+    @PostConstruct
+    void initKeys() {
         byte[] key = secretKeyString.getBytes();
         // AES 키는 16, 24, 또는 32 바이트여야 함
         byte[] keyBytes = new byte[32];
         System.arraycopy(key, 0, keyBytes, 0, Math.min(key.length, 32));
-        return new SecretKeySpec(keyBytes, ALGORITHM);
+        this.secretKey = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.derivedKeys = Caffeine.newBuilder()
+                .maximumSize(derivedKeyCacheSize)
+                .build();
+    }
+    
+    private SecretKeySpec getSecretKey() {
+        return secretKey;
+    }
+
+    private static Cipher cipher(int mode, SecretKeySpec key) throws GeneralSecurityException {
+        Cipher cipher = CIPHER.get();
+        cipher.init(mode, key);
+        return cipher;
     }
     
     /**
@@ -44,8 +81,7 @@ public class EncryptionUtil {
         try (FileInputStream fis = new FileInputStream(originalPath.toFile());
              FileOutputStream fos = new FileOutputStream(encryptedPath.toFile())) {
             
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.ENCRYPT_MODE, getSecretKey());
+            Cipher cipher = cipher(Cipher.ENCRYPT_MODE, getSecretKey());
             
             byte[] buffer = new byte[1024];
             int bytesRead;
@@ -79,8 +115,7 @@ public class EncryptionUtil {
         try (FileInputStream fis = new FileInputStream(encryptedPath.toFile());
              FileOutputStream fos = new FileOutputStream(decryptedPath.toFile())) {
             
-            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-            cipher.init(Cipher.DECRYPT_MODE, getSecretKey());
+            Cipher cipher = cipher(Cipher.DECRYPT_MODE, getSecretKey());
             
             byte[] buffer = new byte[1024];
             int bytesRead;
@@ -105,8 +140,7 @@ public class EncryptionUtil {
      * @throws Exception
      */
     public byte[] encryptFileBytes(byte[] fileBytes) throws Exception {
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        cipher.init(Cipher.ENCRYPT_MODE, getSecretKey());
+        Cipher cipher = cipher(Cipher.ENCRYPT_MODE, getSecretKey());
         return cipher.doFinal(fileBytes);
     }
     
@@ -117,8 +151,7 @@ public class EncryptionUtil {
      * @throws Exception
      */
     public byte[] decryptFileBytes(byte[] encryptedBytes) throws Exception {
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        cipher.init(Cipher.DECRYPT_MODE, getSecretKey());
+        Cipher cipher = cipher(Cipher.DECRYPT_MODE, getSecretKey());
         return cipher.doFinal(encryptedBytes);
     }
     
@@ -129,9 +162,8 @@ public class EncryptionUtil {
      * @throws Exception
      */
     public String encryptString(String plainText) throws Exception {
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        cipher.init(Cipher.ENCRYPT_MODE, getSecretKey());
-        byte[] encryptedBytes = cipher.doFinal(plainText.getBytes("UTF-8"));
+        Cipher cipher = cipher(Cipher.ENCRYPT_MODE, getSecretKey());
+        byte[] encryptedBytes = cipher.doFinal(plainText.getBytes(StandardCharsets.UTF_8));
         return Base64.getEncoder().encodeToString(encryptedBytes);
     }
     
@@ -142,11 +174,39 @@ public class EncryptionUtil {
      * @throws Exception
      */
     public String decryptString(String encryptedText) throws Exception {
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        cipher.init(Cipher.DECRYPT_MODE, getSecretKey());
+        Cipher cipher = cipher(Cipher.DECRYPT_MODE, getSecretKey());
         byte[] decodedBytes = Base64.getDecoder().decode(encryptedText);
         byte[] decryptedBytes = cipher.doFinal(decodedBytes);
-        return new String(decryptedBytes, "UTF-8");
+        return new String(decryptedBytes, StandardCharsets.UTF_8);
+    }
+    
+    /**
+     * ByteBuffer를 암호화 (Base64 문자열 변환 없이 바이트 그대로 처리)
+     * @param plain 원본 데이터 (position~limit 구간을 소비)
+     * @return 암호화된 데이터 (읽기 가능한 상태로 반환)
+     * @throws Exception
+     */
+    public ByteBuffer encrypt(ByteBuffer plain) throws Exception {
+        return doFinal(cipher(Cipher.ENCRYPT_MODE, getSecretKey()), plain);
+    }
+
+    /**
+     * 암호화된 ByteBuffer를 복호화
+     * @param encrypted 암호화된 데이터 (position~limit 구간을 소비)
+     * @return 복호화된 데이터 (읽기 가능한 상태로 반환)
+     * @throws Exception
+     */
+    public ByteBuffer decrypt(ByteBuffer encrypted) throws Exception {
+        return doFinal(cipher(Cipher.DECRYPT_MODE, getSecretKey()), encrypted);
+    }
+
+    private static ByteBuffer doFinal(Cipher cipher, ByteBuffer input) throws GeneralSecurityException {
+        ByteBuffer output = input.isDirect()
+                ? ByteBuffer.allocateDirect(cipher.getOutputSize(input.remaining()))
+                : ByteBuffer.allocate(cipher.getOutputSize(input.remaining()));
+        cipher.doFinal(input, output);
+        output.flip();
+        return output;
     }
     
     /**
@@ -170,9 +230,8 @@ public class EncryptionUtil {
         // sellerId와 buyerId를 조합하여 키 생성
         SecretKeySpec key = getSecretKeyWithIds(sellerId, buyerId);
         
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        cipher.init(Cipher.ENCRYPT_MODE, key);
-        byte[] encryptedBytes = cipher.doFinal(hashValue.getBytes("UTF-8"));
+        Cipher cipher = cipher(Cipher.ENCRYPT_MODE, key);
+        byte[] encryptedBytes = cipher.doFinal(hashValue.getBytes(StandardCharsets.UTF_8));
         return Base64.getEncoder().encodeToString(encryptedBytes);
     }
     
@@ -196,11 +255,10 @@ public class EncryptionUtil {
         // sellerId와 buyerId를 조합하여 키 생성
         SecretKeySpec key = getSecretKeyWithIds(sellerId, buyerId);
         
-        Cipher cipher = Cipher.getInstance(TRANSFORMATION);
-        cipher.init(Cipher.DECRYPT_MODE, key);
+        Cipher cipher = cipher(Cipher.DECRYPT_MODE, key);
         byte[] decodedBytes = Base64.getDecoder().decode(encryptedHash);
         byte[] decryptedBytes = cipher.doFinal(decodedBytes);
-        return new String(decryptedBytes, "UTF-8");
+        return new String(decryptedBytes, StandardCharsets.UTF_8);
     }
     
     /**
@@ -211,13 +269,15 @@ public class EncryptionUtil {
      * @return SecretKeySpec
      */
     private SecretKeySpec getSecretKeyWithIds(Long sellerId, Long buyerId) {
-        // secretKey와 sellerId, buyerId를 조합하여 키 생성
-        String combinedKey = secretKeyString + "::" + sellerId + "::" + buyerId;
-        
+        // 같은 거래 당사자 조합은 한 번만 파생 (SHA-256 반복 계산 방지)
+        return derivedKeys.get(sellerId + "::" + buyerId, ids -> deriveKey(secretKeyString + "::" + ids));
+    }
+
+    private static SecretKeySpec deriveKey(String combinedKey) {
         // SHA-256으로 해시하여 32바이트 키 생성
         try {
-            java.security.MessageDigest sha = java.security.MessageDigest.getInstance("SHA-256");
-            byte[] keyBytes = sha.digest(combinedKey.getBytes("UTF-8"));
+            MessageDigest sha = MessageDigest.getInstance("SHA-256");
+            byte[] keyBytes = sha.digest(combinedKey.getBytes(StandardCharsets.UTF_8));
             return new SecretKeySpec(keyBytes, ALGORITHM);
         } catch (Exception e) {
             throw new RuntimeException("키 생성 중 오류가 발생했습니다.", e);
@@ -0,0 +1,340 @@
+package com.dealchain.dealchain.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 버전이 있는 청크 단위 AES-GCM 봉투(envelope) 형식 암호화.
+ *
+ * <pre>
+ * header : magic "DCEN"(4) | version(1) | keyIdLen(1) | keyId(n) | chunkSize(4) | noncePrefix(8)
+ * chunk  : last(1) | length(4) | ciphertext+tag(length)
+ * </pre>
+ * 청크 nonce는 noncePrefix + 청크 번호(4)이고, AAD는 header + last 플래그입니다.
+ * 청크 순서 변경/잘라내기/헤더 변조는 모두 인증 실패로 감지됩니다.
+ * 전체 데이터를 메모리에 올리지 않고 스트림으로 암복호화할 수 있습니다.
+ */
+@Component
+public class EnvelopeEncryption {
+
+    private static final byte[] MAGIC = {'D', 'C', 'E', 'N'};
+    private static final byte VERSION = 1;
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int TAG_BITS = 128;
+    private static final int TAG_BYTES = TAG_BITS / 8;
+    private static final int NONCE_PREFIX_BYTES = 8;
+    private static final int MAX_CHUNK_SIZE = 4 * 1024 * 1024;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, SecretKeySpec> keys = new ConcurrentHashMap<>();
+
+    @Value("${encryption.secret-key}")
+    private String secretKeyString;
+
+    // 새로 암호화할 때 사용할 키 ID (키 교체 시 변경, 기존 데이터는 헤더의 키 ID로 복호화)
+    @Value("${encryption.envelope.key-id:v1}")
+    private String currentKeyId;
+
+    @Value("${encryption.envelope.chunk-size:65536}")
+    private int chunkSize;
+
+    /**
+     * 봉투 형식 데이터인지 확인 (기존 AES/ECB 데이터와 구분용)
+     */
+    public static boolean isEnvelope(byte[] data) {
+        if (data == null || data.length < MAGIC.length + 1) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return data[MAGIC.length] == VERSION;
+    }
+
+    /**
+     * 바이트 배열을 봉투 형식으로 암호화
+     */
+    public byte[] encrypt(byte[] plain) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(plain.length + 64);
+        try (OutputStream out = encryptingStream(bos)) {
+            out.write(plain);
+        }
+        return bos.toByteArray();
+    }
+
+    /**
+     * 봉투 형식 데이터를 복호화
+     */
+    public byte[] decrypt(byte[] envelope) throws IOException {
+        try (InputStream in = decryptingStream(new ByteArrayInputStream(envelope))) {
+            return in.readAllBytes();
+        }
+    }
+
+    /**
+     * 쓰는 내용을 암호화하여 out으로 내보내는 스트림. close() 시 마지막 청크가 기록됩니다.
+     */
+    public OutputStream encryptingStream(OutputStream out) throws IOException {
+        byte[] noncePrefix = new byte[NONCE_PREFIX_BYTES];
+        random.nextBytes(noncePrefix);
+        byte[] header = header(currentKeyId, chunkSize, noncePrefix);
+        out.write(header);
+        return new EncryptingOutputStream(out, key(currentKeyId), header, noncePrefix, chunkSize);
+    }
+
+    /**
+     * 봉투 형식 입력을 읽으면서 복호화하는 스트림
+     */
+    public InputStream decryptingStream(InputStream in) throws IOException {
+        DataInputStream din = new DataInputStream(in);
+        byte[] magic = new byte[MAGIC.length];
+        din.readFully(magic);
+        byte version = din.readByte();
+        if (!MessageDigest.isEqual(magic, MAGIC) || version != VERSION) {
+            throw new IOException("지원하지 않는 암호화 형식입니다.");
+        }
+        byte[] keyIdBytes = new byte[din.readUnsignedByte()];
+        din.readFully(keyIdBytes);
+        int size = din.readInt();
+        if (size <= 0 || size > MAX_CHUNK_SIZE) {
+            throw new IOException("잘못된 청크 크기입니다: " + size);
+        }
+        byte[] noncePrefix = new byte[NONCE_PREFIX_BYTES];
+        din.readFully(noncePrefix);
+
+        String keyId = new String(keyIdBytes, StandardCharsets.UTF_8);
+        byte[] header = header(keyId, size, noncePrefix);
+        return new DecryptingInputStream(din, key(keyId), header, noncePrefix, size);
+    }
+
+    private static byte[] header(String keyId, int size, byte[] noncePrefix) {
+        byte[] keyIdBytes = keyId.getBytes(StandardCharsets.UTF_8);
+        if (keyIdBytes.length > 255) {
+            throw new IllegalArgumentException("키 ID가 너무 깁니다.");
+        }
+        return ByteBuffer.allocate(MAGIC.length + 2 + keyIdBytes.length + 4 + NONCE_PREFIX_BYTES)
+                .put(MAGIC)
+                .put(VERSION)
+                .put((byte) keyIdBytes.length)
+                .put(keyIdBytes)
+                .putInt(size)
+                .put(noncePrefix)
+                .array();
+    }
+
+    private SecretKeySpec key(String keyId) {
+        return keys.computeIfAbsent(keyId, id -> {
+            try {
+                MessageDigest sha = MessageDigest.getInstance("SHA-256");
+                byte[] keyBytes = sha.digest((secretKeyString + "::envelope::" + id).getBytes(StandardCharsets.UTF_8));
+                return new SecretKeySpec(keyBytes, "AES");
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("키 생성 중 오류가 발생했습니다.", e);
+            }
+        });
+    }
+
+    private static Cipher initCipher(Cipher cipher, int mode, SecretKeySpec key, byte[] header,
+                                     byte[] noncePrefix, int index, boolean last) throws IOException {
+        byte[] nonce = ByteBuffer.allocate(NONCE_PREFIX_BYTES + 4).put(noncePrefix).putInt(index).array();
+        try {
+            cipher.init(mode, key, new GCMParameterSpec(TAG_BITS, nonce));
+            cipher.updateAAD(header);
+            cipher.updateAAD(new byte[]{(byte) (last ? 1 : 0)});
+            return cipher;
+        } catch (GeneralSecurityException e) {
+            throw new IOException("암호화 초기화 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    private static Cipher newCipher() throws IOException {
+        try {
+            return Cipher.getInstance(TRANSFORMATION);
+        } catch (GeneralSecurityException e) {
+            throw new IOException("Cipher 생성 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    private static final class EncryptingOutputStream extends OutputStream {
+        private final DataOutputStream out;
+        private final SecretKeySpec key;
+        private final byte[] header;
+        private final byte[] noncePrefix;
+        private final byte[] buffer;
+        private final Cipher cipher;
+        private int count;
+        private int index;
+        private boolean closed;
+
+        private EncryptingOutputStream(OutputStream out, SecretKeySpec key, byte[] header,
+                                       byte[] noncePrefix, int chunkSize) throws IOException {
+            this.out = new DataOutputStream(out);
+            this.key = key;
+            this.header = header;
+            this.noncePrefix = noncePrefix;
+            this.buffer = new byte[chunkSize];
+            this.cipher = newCipher();
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (closed) {
+                throw new IOException("이미 닫힌 스트림입니다.");
+            }
+            while (len > 0) {
+                // 버퍼가 가득 찬 상태에서 데이터가 더 들어올 때만 중간 청크로 기록 (마지막 청크 판별용)
+                if (count == buffer.length) {
+                    writeChunk(false);
+                }
+                int n = Math.min(len, buffer.length - count);
+                System.arraycopy(b, off, buffer, count, n);
+                count += n;
+                off += n;
+                len -= n;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                writeChunk(true);
+                out.flush();
+            } finally {
+                out.close();
+            }
+        }
+
+        private void writeChunk(boolean last) throws IOException {
+            initCipher(cipher, Cipher.ENCRYPT_MODE, key, header, noncePrefix, index++, last);
+            byte[] encrypted;
+            try {
+                encrypted = cipher.doFinal(buffer, 0, count);
+            } catch (GeneralSecurityException e) {
+                throw new IOException("청크 암호화 중 오류가 발생했습니다.", e);
+            }
+            out.writeByte(last ? 1 : 0);
+            out.writeInt(encrypted.length);
+            out.write(encrypted);
+            count = 0;
+        }
+    }
+
+    private static final class DecryptingInputStream extends InputStream {
+        private final DataInputStream in;
+        private final SecretKeySpec key;
+        private final byte[] header;
+        private final byte[] noncePrefix;
+        private final int chunkSize;
+        private final Cipher cipher;
+        private byte[] plain = new byte[0];
+        private int pos;
+        private int index;
+        private boolean lastSeen;
+
+        private DecryptingInputStream(DataInputStream in, SecretKeySpec key, byte[] header,
+                                      byte[] noncePrefix, int chunkSize) throws IOException {
+            this.in = in;
+            this.key = key;
+            this.header = header;
+            this.noncePrefix = noncePrefix;
+            this.chunkSize = chunkSize;
+            this.cipher = newCipher();
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!ensureData()) {
+                return -1;
+            }
+            return plain[pos++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!ensureData()) {
+                return -1;
+            }
+            int n = Math.min(len, plain.length - pos);
+            System.arraycopy(plain, pos, b, off, n);
+            pos += n;
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return plain.length - pos;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        private boolean ensureData() throws IOException {
+            while (pos == plain.length) {
+                if (lastSeen) {
+                    return false;
+                }
+                readChunk();
+            }
+            return true;
+        }
+
+        private void readChunk() throws IOException {
+            int flag;
+            int length;
+            try {
+                flag = in.readUnsignedByte();
+                length = in.readInt();
+            } catch (EOFException e) {
+                throw new IOException("암호화 데이터가 중간에 잘렸습니다.", e);
+            }
+            if (flag > 1 || length < TAG_BYTES || length > chunkSize + TAG_BYTES) {
+                throw new IOException("잘못된 청크 형식입니다.");
+            }
+            byte[] encrypted = new byte[length];
+            in.readFully(encrypted);
+
+            boolean last = flag == 1;
+            initCipher(cipher, Cipher.DECRYPT_MODE, key, header, noncePrefix, index++, last);
+            try {
+                plain = cipher.doFinal(encrypted);
+            } catch (GeneralSecurityException e) {
+                throw new IOException("암호화 데이터 무결성 검증에 실패했습니다.", e);
+            }
+            pos = 0;
+            lastSeen = last;
+        }
+    }
+}